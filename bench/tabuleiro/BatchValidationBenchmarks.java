@@ -0,0 +1,126 @@
+package tabuleiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de 1024 tabuleiros em lote ({@link Validator#validateBatch(BoardBatch)}) contra um por
+ * vez em ordem de linha, e o cálculo dos dígitos vistos pelas vizinhas de cada célula com laços
+ * aninhados contra as tabelas planas da {@link Topology}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BatchValidationBenchmarks {
+
+    private BoardBatch batch;
+    private byte[][] puzzles;
+    private byte[] sparse;
+
+    @Setup
+    public void setup() {
+        // 1024 tabuleiros alternando as quatro densidades, um em cada oito com um número repetido na linha
+        String[] densidades = {"vazio", "esparso", "denso", "completo"};
+        byte[][] corpus = new byte[densidades.length][];
+        for (int k = 0; k < densidades.length; k++) {
+            corpus[k] = Corpus.board(densidades[k]).cells().clone();
+        }
+        batch = new BoardBatch(SolvePipeline.BATCH);
+        puzzles = new byte[batch.getCapacity()][];
+        for (int b = 0; b < puzzles.length; b++) {
+            puzzles[b] = corpus[b & 3].clone();
+            if ((b & 7) == 6) {
+                puzzles[b][1] = puzzles[b][0];
+            }
+            batch.add(puzzles[b]);
+        }
+        sparse = corpus[1];
+    }
+
+    @Benchmark
+    public BoardBatch validateBatch() {
+        Validator.validateBatch(batch);
+        return batch;
+    }
+
+    @Benchmark
+    public int validateOneByOne() {
+        int complete = 0;
+        for (byte[] puzzle : puzzles) {
+            if (validateOne(puzzle) == BoardBatch.COMPLETO) {
+                complete++;
+            }
+        }
+        return complete;
+    }
+
+    @Benchmark
+    public int peerMasksNested() {
+        byte[] cells = sparse;
+        int sum = 0;
+        for (int index = 0; index < 81; index++) {
+            int row = index / 9;
+            int col = index % 9;
+            int mask = 0;
+            for (int k = 0; k < 9; k++) {
+                mask |= 1 << cells[row * 9 + k];
+                mask |= 1 << cells[k * 9 + col];
+            }
+            int top = row / 3 * 3;
+            int left = col / 3 * 3;
+            for (int r = top; r < top + 3; r++) {
+                for (int c = left; c < left + 3; c++) {
+                    mask |= 1 << cells[r * 9 + c];
+                }
+            }
+            sum += mask;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int peerMasksFlat() {
+        byte[] cells = sparse;
+        int sum = 0;
+        for (int index = 0, k = 0; index < 81; index++) {
+            int mask = 1 << cells[index];
+            for (int end = k + Topology.PEER_COUNT; k < end; k++) {
+                mask |= 1 << cells[Topology.PEERS[k]];
+            }
+            sum += mask;
+        }
+        return sum;
+    }
+
+    /**
+     * Mesmas regras de {@link Validator#validateBatch(BoardBatch)}, num tabuleiro em ordem de linha:
+     * a referência para medir o ganho do lote em estrutura de vetores.
+     */
+    private static byte validateOne(byte[] cells) {
+        int repeated = 0;
+        int missing = 0;
+        for (int start = 0; start < Topology.UNITS.length; start += Topology.UNIT_SIZE) {
+            int seen = 0;
+            for (int k = start; k < start + Topology.UNIT_SIZE; k++) {
+                int bit = (1 << cells[Topology.UNITS[k]]) >>> 1;
+                repeated |= seen & bit;
+                seen |= bit;
+            }
+            missing |= seen ^ Validator.ALL_DIGITS;
+        }
+        return repeated != 0 ? BoardBatch.CONFLITO : missing == 0 ? BoardBatch.COMPLETO : BoardBatch.INCOMPLETO;
+    }
+}
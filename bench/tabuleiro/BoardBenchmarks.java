@@ -0,0 +1,115 @@
+package tabuleiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação, status e reinício do {@link Board} nas quatro densidades do {@link Corpus}.
+ * <p>
+ * Os casos de reinício jogam antes até {@value #PLAYED} números nas células vazias, para que
+ * {@link Board#reiniciarTabuleiro()} tenha jogadas a desfazer; {@link #play()} mede só essas
+ * jogadas, a serem descontadas. {@link #reiniciarAposZerar()} força a reconstrução a partir
+ * dos números iniciais, o caminho seguido depois de {@link Board#zerarTabuleiro()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BoardBenchmarks {
+
+    @Param({"vazio", "esparso", "denso", "completo"})
+    public String densidade;
+
+    /** Jogadas feitas antes de cada reinício (menos no tabuleiro completo, que não tem células vazias). */
+    static final int PLAYED = 16;
+
+    private Board board;
+    private int[][] moves;
+    private int move;
+    /** Células vazias ({@code row * 9 + col}) e os números jogados nelas antes de cada reinício. */
+    private int[] playCells;
+    private int[] playDigits;
+
+    @Setup
+    public void setup() {
+        board = Corpus.board(densidade);
+        moves = Corpus.moves(9);
+        int[] cells = new int[PLAYED];
+        int count = 0;
+        for (int index = 0; index < 81 && count < PLAYED; index++) {
+            if (board.cells()[index] == Board.EMPTY) {
+                cells[count++] = index;
+            }
+        }
+        playCells = Arrays.copyOf(cells, count);
+        playDigits = new int[count];
+        for (int i = 0; i < count; i++) {
+            playDigits[i] = i % 9 + 1;
+        }
+    }
+
+    @Benchmark
+    public Mensagem isValid() {
+        int m = move++ & (Corpus.MOVES - 1);
+        return Validator.isValid(board, moves[1][m], moves[2][m], moves[0][m]);
+    }
+
+    @Benchmark
+    public boolean isValidEndGame() {
+        return Validator.isValidEndGame(board);
+    }
+
+    @Benchmark
+    public int getStatusAndHasErrors() {
+        return board.getStatus().ordinal() + (board.hasErrors() ? 4 : 0);
+    }
+
+    /** Só as jogadas feitas antes de cada reinício; o reinício volta o tabuleiro ao estado inicial. */
+    @Benchmark
+    public int play() {
+        playMoves();
+        int moveCount = board.getMoveCount();
+        while (board.undo()) {
+            // volta ao estado inicial
+        }
+        return moveCount;
+    }
+
+    /** Jogadas seguidas do reinício comum, que as desfaz pelo histórico. */
+    @Benchmark
+    public int reiniciarTabuleiro() {
+        playMoves();
+        board.reiniciarTabuleiro();
+        return board.getNumber(0, 0);
+    }
+
+    /** Jogadas, {@link Board#zerarTabuleiro()} e o reinício, que reconstrói o tabuleiro inteiro. */
+    @Benchmark
+    public int reiniciarAposZerar() {
+        playMoves();
+        board.zerarTabuleiro();
+        board.reiniciarTabuleiro();
+        return board.getNumber(0, 0);
+    }
+
+    private void playMoves() {
+        for (int i = 0; i < playCells.length; i++) {
+            int index = playCells[i];
+            board.play(index / 9, index % 9, playDigits[i]);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package tabuleiro;
+
+import java.util.SplittableRandom;
+
+/**
+ * Entradas comuns dos benchmarks, todas de sementes fixas: os tabuleiros nas quatro
+ * densidades (vazio, esparso com ~22 pistas, denso com 60 pistas e completo) e uma
+ * sequência de jogadas pré-sorteadas (linha, coluna e valor).
+ */
+final class Corpus {
+
+    static final long SEED = 20240917L;
+
+    /** Quantidade de jogadas pré-sorteadas; potência de 2 para o índice ser um {@code &}. */
+    static final int MOVES = 1024;
+
+    private Corpus() {
+    }
+
+    /**
+     * Tabuleiro de uma das densidades ({@code vazio}, {@code esparso}, {@code denso}, {@code completo}).
+     */
+    static Board board(String densidade) {
+        return switch (densidade) {
+            case "vazio" -> boardWithClues(0);
+            case "esparso" -> boardWithClues(Dificuldade.ESPECIALISTA.getPistas());
+            case "denso" -> boardWithClues(60);
+            case "completo" -> boardWithClues(81);
+            default -> throw new IllegalArgumentException("Densidade desconhecida: " + densidade);
+        };
+    }
+
+    /**
+     * Gera, com semente fixa, um tabuleiro de solução única com a quantidade de pistas indicada.
+     */
+    static Board boardWithClues(int clues) {
+        Board board = new Board();
+        if (clues > 0) {
+            new Generator(SEED).generate(board, clues);
+        } else {
+            board.loadGivens(new byte[81]);
+        }
+        return board;
+    }
+
+    /**
+     * Jogadas pré-sorteadas num tabuleiro {@code size x size}: {@code [0]} linhas, {@code [1]} colunas
+     * e {@code [2]} valores de 1 a {@code size}.
+     */
+    static int[][] moves(int size) {
+        int[][] moves = new int[3][MOVES];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < MOVES; i++) {
+            moves[0][i] = random.nextInt(size);
+            moves[1][i] = random.nextInt(size);
+            moves[2][i] = random.nextInt(size) + 1;
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,56 @@
+package tabuleiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração de jogos por nível, com uma semente nova a cada operação: no mesmo tabuleiro, num
+ * tabuleiro novo a cada jogo (o ciclo de vida de uma sessão do servidor sem reaproveitamento)
+ * e com o {@link BoardPool}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GenerationBenchmarks {
+
+    @Param({"FACIL", "MEDIO", "DIFICIL", "ESPECIALISTA"})
+    public Dificuldade dificuldade;
+
+    private final Board board = new Board();
+    private final BoardPool pool = new BoardPool(16);
+    private long seed = Corpus.SEED;
+
+    @Benchmark
+    public int startingGame() {
+        board.startingGame(seed++, dificuldade);
+        return board.getNumber(4, 4);
+    }
+
+    @Benchmark
+    public int newBoardStartingGame() {
+        Board created = new Board();
+        created.startingGame(seed++, dificuldade);
+        return created.getNumber(4, 4);
+    }
+
+    @Benchmark
+    public int poolAcquireRelease() {
+        Board pooled = pool.acquire(seed++, dificuldade);
+        int number = pooled.getNumber(4, 4);
+        pool.release(pooled);
+        return number;
+    }
+}
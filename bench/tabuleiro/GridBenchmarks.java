@@ -0,0 +1,78 @@
+package tabuleiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação, resolução e geração nos tabuleiros maiores (16x16 com blocos 4x4, 25x25 com
+ * blocos 5x5), com um jogo de semente fixa no nível médio e a sua solução completa.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GridBenchmarks {
+
+    /** Lado do bloco; o tabuleiro tem {@code bloco * bloco} linhas. */
+    @Param({"4", "5"})
+    public int bloco;
+
+    private Geometry geometry;
+    private int[][] moves;
+    private int move;
+    private GridBoard puzzle;
+    private GridBoard complete;
+    private GridSolver solver;
+    private byte[] out;
+    private GridBoard generated;
+    private long seed = Corpus.SEED;
+
+    @Setup
+    public void setup() {
+        geometry = Geometry.of(bloco);
+        moves = Corpus.moves(geometry.getSize());
+        puzzle = new GridBoard(geometry);
+        GridGenerator generator = new GridGenerator(geometry, Corpus.SEED);
+        generator.generate(puzzle, Dificuldade.MEDIO);
+        complete = new GridBoard(geometry);
+        complete.loadGivens(generator.lastSolution());
+        solver = new GridSolver(geometry);
+        out = new byte[geometry.getCellCount()];
+        generated = new GridBoard(geometry);
+    }
+
+    @Benchmark
+    public Mensagem isValid() {
+        int m = move++ & (Corpus.MOVES - 1);
+        return Validator.isValid(puzzle, moves[1][m], moves[2][m], moves[0][m]);
+    }
+
+    @Benchmark
+    public boolean isValidEndGame() {
+        return Validator.isValidEndGame(complete);
+    }
+
+    @Benchmark
+    public byte[] solveCells() {
+        solver.solveCells(puzzle.cells(), out);
+        return out;
+    }
+
+    @Benchmark
+    public int generate() {
+        return new GridGenerator(geometry, seed++).generate(generated, Dificuldade.MEDIO);
+    }
+}
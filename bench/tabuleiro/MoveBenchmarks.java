@@ -0,0 +1,89 @@
+package tabuleiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jogadas no tabuleiro esparso do {@link Corpus}: histórico (desfazer e refazer), rascunho
+ * mantido a cada jogada e gravação de um jogo salvo típico com o {@link BoardCodec}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MoveBenchmarks {
+
+    private Board sparse;
+    private int[][] moves;
+    private int move;
+    private Board saved;
+    private final Board restored = new Board();
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        sparse = Corpus.board("esparso");
+        moves = Corpus.moves(9);
+        for (int m = 0; m < Corpus.MOVES && sparse.getMoveCount() < 10; m++) {
+            sparse.applyNumber(moves[0][m], moves[1][m], moves[2][m]);
+        }
+
+        // jogo salvo típico: pistas do nível médio e algumas jogadas no histórico
+        saved = new Board();
+        saved.startingGame(Corpus.SEED, Dificuldade.MEDIO);
+        for (int m = 0; m < Corpus.MOVES && saved.getMoveCount() < 20; m++) {
+            saved.applyNumber(moves[0][m], moves[1][m], moves[2][m]);
+        }
+        buffer = ByteBuffer.allocateDirect(BoardCodec.encodedSize(saved));
+    }
+
+    /** Desfaz as 10 últimas jogadas, volta ao ponto marcado e refaz tudo. */
+    @Benchmark
+    public int undoRedo10() {
+        long mark = sparse.checkpoint();
+        for (int step = 0; step < 10; step++) {
+            sparse.undo();
+        }
+        sparse.rollback(mark);
+        while (sparse.redo()) {
+            // reaplica as jogadas desfeitas
+        }
+        return sparse.getMoveCount();
+    }
+
+    @Benchmark
+    public int playUndoGetCandidates() {
+        int m = move++ & (Corpus.MOVES - 1);
+        int row = moves[0][m];
+        int col = moves[1][m];
+        if (!sparse.isEmpty(row, col)) {
+            return sparse.getCandidates(row, col);
+        }
+        sparse.play(row, col, moves[2][m]);
+        int peerCandidates = sparse.getCandidates(row, (col + 1) % 9);
+        sparse.undo();
+        return peerCandidates + sparse.getCandidates(row, col);
+    }
+
+    @Benchmark
+    public int codecEncodeDecode() {
+        buffer.clear();
+        BoardCodec.encode(saved, buffer);
+        buffer.flip();
+        BoardCodec.decode(buffer, restored);
+        return restored.getMoveCount();
+    }
+}
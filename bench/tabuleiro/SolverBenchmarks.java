@@ -0,0 +1,70 @@
+package tabuleiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolução, avaliação, dicas e forma canônica nos tabuleiros com pistas do {@link Corpus}.
+ * O cache é medido com o tabuleiro repetido, ou seja, sempre acertando.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SolverBenchmarks {
+
+    @Param({"esparso", "denso", "completo"})
+    public String densidade;
+
+    private Board board;
+    private final LogicalSolver rater = new LogicalSolver();
+    private final Canonicalizer canonicalizer = new Canonicalizer();
+    private final CanonicalForm form = new CanonicalForm();
+    private final PuzzleCache cache = new PuzzleCache(1024);
+    private final byte[] solution = new byte[81];
+
+    @Setup
+    public void setup() {
+        board = Corpus.board(densidade);
+    }
+
+    @Benchmark
+    public boolean solve() {
+        board.reiniciarTabuleiro();
+        return Solver.solve(board);
+    }
+
+    @Benchmark
+    public int rate() {
+        return rater.rate(board).getScore();
+    }
+
+    @Benchmark
+    public Deducao hint() {
+        return board.hint();
+    }
+
+    @Benchmark
+    public long canonicalize() {
+        canonicalizer.canonicalize(board.cells(), form);
+        return form.getHigh();
+    }
+
+    @Benchmark
+    public Rating cacheSolveRepeated() {
+        return cache.solve(board, solution);
+    }
+}
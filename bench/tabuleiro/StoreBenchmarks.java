@@ -0,0 +1,84 @@
+package tabuleiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorteio e varredura do {@link PuzzleStore}, num inventário temporário com 4096 jogos de
+ * sementes fixas avaliados pelo {@link LogicalSolver}. O sorteio deve custar uma leitura de
+ * 64 bytes, sem alocação, contra a geração de {@link GenerationBenchmarks#poolAcquireRelease()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StoreBenchmarks {
+
+    private static final int STOCKED = 4096;
+
+    private Path directory;
+    private PuzzleStore store;
+    /** O nível com mais jogos no inventário. */
+    private Dificuldade tier;
+    private final Board board = new Board();
+    private long random = Corpus.SEED;
+    private int clues;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("sudoku-bench");
+        store = PuzzleStore.open(directory);
+        Generator generator = new Generator(Corpus.SEED);
+        LogicalSolver rater = new LogicalSolver();
+        for (int i = 0; i < STOCKED; i++) {
+            generator.generate(board, Dificuldade.MEDIO);
+            store.append(board.cells(), rater.rate(board.cells()).getDificuldade());
+        }
+        tier = Dificuldade.FACIL;
+        for (Dificuldade candidate : Dificuldade.values()) {
+            if (store.count(candidate) > store.count(tier)) {
+                tier = candidate;
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public int draw() throws IOException {
+        return store.draw(tier, random++, board) ? board.getNumber(4, 4) : -1;
+    }
+
+    /** Percorre os 4096 jogos, somando as pistas. */
+    @Benchmark
+    public int scan() throws IOException {
+        clues = 0;
+        store.scan((id, puzzle, dificuldade, count) -> clues += count);
+        return clues;
+    }
+}
@@ -0,0 +1,102 @@
+package tabuleiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação, resolução e geração com {@link Rules}: as regras padrão (que devem custar o mesmo
+ * que {@link Validator#isValid(Board, int, int, int)}), o Sudoku X e um killer de gaiolas
+ * de duas células montado a partir de uma solução de semente fixa.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class VariantBenchmarks {
+
+    private int[][] moves;
+    private int move;
+    private Board sparse;
+    private Rules x;
+    private Board xPuzzle;
+    private VariantSolver xSolver;
+    private Rules killer;
+    private Board killerPuzzle;
+    private VariantSolver killerSolver;
+    private final byte[] out = new byte[81];
+    private final Board generated = new Board();
+    private long seed = Corpus.SEED;
+
+    @Setup
+    public void setup() {
+        moves = Corpus.moves(9);
+        sparse = Corpus.board("esparso");
+
+        x = Rules.STANDARD.withDiagonals();
+        VariantGenerator xGenerator = new VariantGenerator(x, Corpus.SEED);
+        xPuzzle = new Board();
+        xGenerator.generate(xPuzzle, Dificuldade.MEDIO);
+        xSolver = new VariantSolver(x);
+
+        byte[] solution = xGenerator.lastSolution().clone();
+        Rules rules = Rules.STANDARD;
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 8; col += 2) {
+                int index = row * 9 + col;
+                rules = rules.withCage(solution[index] + solution[index + 1], index, index + 1);
+            }
+            rules = rules.withCage(solution[row * 9 + 8], row * 9 + 8);
+        }
+        killer = rules;
+        killerPuzzle = new Board();
+        new VariantGenerator(killer, Corpus.SEED).generate(killerPuzzle, 0);
+        killerSolver = new VariantSolver(killer);
+    }
+
+    @Benchmark
+    public Mensagem isValidStandard() {
+        int m = move++ & (Corpus.MOVES - 1);
+        return Validator.isValid(Rules.STANDARD, sparse, moves[1][m], moves[2][m], moves[0][m]);
+    }
+
+    @Benchmark
+    public Mensagem isValidSudokuX() {
+        int m = move++ & (Corpus.MOVES - 1);
+        return Validator.isValid(x, xPuzzle, moves[1][m], moves[2][m], moves[0][m]);
+    }
+
+    @Benchmark
+    public Mensagem isValidKiller() {
+        int m = move++ & (Corpus.MOVES - 1);
+        return Validator.isValid(killer, killerPuzzle, moves[1][m], moves[2][m], moves[0][m]);
+    }
+
+    @Benchmark
+    public byte[] solveSudokuX() {
+        xSolver.solveCells(xPuzzle.cells(), out);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] solveKiller() {
+        killerSolver.solveCells(killerPuzzle.cells(), out);
+        return out;
+    }
+
+    @Benchmark
+    public int generateSudokuX() {
+        return new VariantGenerator(x, seed++).generate(generated, Dificuldade.MEDIO);
+    }
+}
@@ -0,0 +1,438 @@
+import servidor.GameServer;
+import servidor.SocketFrontend;
+import tabuleiro.BatchGenerator;
+import tabuleiro.BatchStats;
+import tabuleiro.Board;
+import tabuleiro.Dificuldade;
+import tabuleiro.ErroNum;
+import tabuleiro.LogicalSolver;
+import tabuleiro.Metrics;
+import tabuleiro.PipelineStats;
+import tabuleiro.PuzzleCache;
+import tabuleiro.PuzzleReader;
+import tabuleiro.PuzzleStore;
+import tabuleiro.PuzzleWriter;
+import tabuleiro.Rating;
+import tabuleiro.SolvePipeline;
+import tabuleiro.Solver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Modo não interativo do jogo: sobe o servidor de jogo ou gera, resolve, valida, avalia e guarda no
+ * inventário ({@link PuzzleStore}) tabuleiros em lote a partir de arquivos no formato de 81
+ * caracteres por linha. Os tabuleiros são processados em blocos, em paralelo, e as estatísticas
+ * de vazão são impressas na saída de erro ao final, para não se misturarem aos tabuleiros quando
+ * a saída padrão é usada como destino.
+ */
+final class BatchCli {
+
+    /** Quantidade de tabuleiros lidos e processados por tarefa. */
+    private static final int BLOCK = 1024;
+
+    private static final ThreadLocal<Solver> SOLVERS = ThreadLocal.withInitial(Solver::new);
+    private static final ThreadLocal<LogicalSolver> RATERS = ThreadLocal.withInitial(LogicalSolver::new);
+
+    private BatchCli() {
+    }
+
+    /**
+     * Executa o subcomando informado em {@code args[0]}.
+     *
+     * @param args {@code String[]} - Subcomando seguido de opções {@code --nome valor}.
+     * @return {@code int} - Código de saída: 0 em caso de sucesso, 1 em erro de execução e 2 em uso incorreto.
+     */
+    static int run(String[] args) {
+        try {
+            Map<String, String> options = parseOptions(args);
+            switch (args[0]) {
+                case "generate" -> generate(options);
+                case "solve" -> solve(options);
+                case "validate" -> validate(options);
+                case "rate" -> rate(options);
+                case "stock" -> stock(options);
+                case "serve" -> serve(options);
+                default -> {
+                    return usage("Comando desconhecido: " + args[0]);
+                }
+            }
+            if (Metrics.ENABLED) {
+                System.err.println(Metrics.report());
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            return usage(e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Erro ao ler ou gravar arquivo: " + e.getMessage());
+            return 1;
+        } catch (UncheckedIOException e) {
+            // gravação feita dentro de um PuzzleSink, que não pode lançar IOException
+            System.err.println("Erro ao ler ou gravar arquivo: " + e.getCause().getMessage());
+            return 1;
+        } catch (ErroNum | ExecutionException e) {
+            System.err.println("Erro: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Execução interrompida.");
+            return 1;
+        }
+    }
+
+    /**
+     * {@code generate --count N [--seed S] [--difficulty NIVEL] [--threads T] [--out arquivo]}
+     * <p>
+     * As linhas saem na ordem dos índices do lote ({@link BatchGenerator#generateOrdered}): a mesma
+     * semente gera sempre o mesmo arquivo, qualquer que seja a quantidade de threads.
+     * <p>
+     * Com {@code --scaling MAX}, nenhum tabuleiro é gravado: o lote é gerado com 1, 2, 4, ... até
+     * {@code MAX} threads e a vazão de cada medição é impressa ({@link BatchGenerator#relatorioEscala}).
+     */
+    private static void generate(Map<String, String> options) throws IOException {
+        long count = Long.parseLong(required(options, "count"));
+        long seed = options.containsKey("seed") ? Long.parseLong(options.get("seed")) : new SplittableRandom().nextLong();
+        Dificuldade dificuldade = Dificuldade.valueOf(options.getOrDefault("difficulty", "MEDIO"));
+        if (options.containsKey("scaling")) {
+            BatchGenerator.relatorioEscala(count, seed, dificuldade, Integer.parseInt(options.get("scaling")), System.out);
+            return;
+        }
+        int threads = threads(options);
+
+        BatchStats stats;
+        try (PuzzleWriter writer = openWriter(options)) {
+            stats = BatchGenerator.generateOrdered(count, seed, dificuldade, threads, (index, puzzle) -> {
+                try {
+                    writer.write(puzzle);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        System.err.println(stats);
+    }
+
+    /**
+     * {@code solve --in arquivo [--out arquivo] [--threads T] [--cache N]}
+     * <p>
+     * Roda o {@link SolvePipeline}: leitura, validação em lote, resolução com {@code T} threads e escrita,
+     * ligadas por filas limitadas. A saída mantém a ordem da entrada. Tabuleiros com conflito ou sem
+     * solução são gravados como foram lidos. Ao final imprime a vazão e a ocupação de cada etapa.
+     * Com {@code --cache}, tabuleiros equivalentes a um já resolvido reaproveitam a solução (ver {@link PuzzleCache}).
+     */
+    private static void solve(Map<String, String> options) throws IOException, InterruptedException {
+        int threads = threads(options);
+        PuzzleCache cache = cache(options);
+        PipelineStats stats;
+
+        try (PuzzleReader reader = PuzzleReader.open(Paths.get(required(options, "in")));
+             PuzzleWriter writer = openWriter(options)) {
+            stats = new SolvePipeline(threads, cache).run(reader, writer);
+        }
+        System.err.println(stats);
+        if (cache != null) {
+            System.err.println(cache);
+        }
+    }
+
+    /**
+     * {@code validate --in arquivo [--threads T]}
+     * <p>
+     * Classifica cada tabuleiro pela quantidade de soluções: nenhuma (inclui números em
+     * posições conflitantes), exatamente uma, ou mais de uma.
+     */
+    private static void validate(Map<String, String> options)
+            throws IOException, InterruptedException, ExecutionException {
+        LongAdder[] counters = {new LongAdder(), new LongAdder(), new LongAdder()};
+        int threads = threads(options);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<?>> pending = new ArrayDeque<>();
+        long start = System.nanoTime();
+        long total = 0;
+
+        try (PuzzleReader reader = PuzzleReader.open(Paths.get(required(options, "in")))) {
+            while (true) {
+                byte[][] block = readBlock(reader);
+                if (block.length == 0) {
+                    break;
+                }
+                total += block.length;
+                pending.add(pool.submit(() -> {
+                    Solver solver = SOLVERS.get();
+                    for (byte[] puzzle : block) {
+                        counters[solver.countCells(puzzle, 2)].increment();
+                    }
+                }));
+                if (pending.size() > threads * 2) {
+                    pending.poll().get();
+                }
+            }
+            while (!pending.isEmpty()) {
+                pending.poll().get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        printStats("validados", total, System.nanoTime() - start, threads);
+        System.err.printf("sem solução: %d | solução única: %d | múltiplas soluções: %d%n",
+                counters[0].sum(), counters[1].sum(), counters[2].sum());
+    }
+
+    /**
+     * {@code rate --in arquivo [--threads T] [--cache N]}
+     * <p>
+     * Avalia cada tabuleiro com o {@link LogicalSolver} e imprime quantos caíram em cada nível
+     * e quantos não são jogos válidos (sem solução única).
+     * Com {@code --cache}, tabuleiros equivalentes a um já avaliado reaproveitam a avaliação.
+     */
+    private static void rate(Map<String, String> options)
+            throws IOException, InterruptedException, ExecutionException {
+        Dificuldade[] niveis = Dificuldade.values();
+        LongAdder[] counters = new LongAdder[niveis.length];
+        for (int i = 0; i < niveis.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        LongAdder invalid = new LongAdder();
+        int threads = threads(options);
+        PuzzleCache cache = cache(options);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<?>> pending = new ArrayDeque<>();
+        long start = System.nanoTime();
+        long total = 0;
+
+        try (PuzzleReader reader = PuzzleReader.open(Paths.get(required(options, "in")))) {
+            while (true) {
+                byte[][] block = readBlock(reader);
+                if (block.length == 0) {
+                    break;
+                }
+                total += block.length;
+                pending.add(pool.submit(() -> {
+                    LogicalSolver solver = RATERS.get();
+                    byte[] solution = new byte[81];
+                    for (byte[] puzzle : block) {
+                        Rating rating = cache != null ? cache.solve(puzzle, solution) : null;
+                        if (rating == null) {
+                            rating = solver.rate(puzzle);
+                        }
+                        if (rating.isValid()) {
+                            counters[rating.getDificuldade().ordinal()].increment();
+                        } else {
+                            invalid.increment();
+                        }
+                    }
+                }));
+                if (pending.size() > threads * 2) {
+                    pending.poll().get();
+                }
+            }
+            while (!pending.isEmpty()) {
+                pending.poll().get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        printStats("avaliados", total, System.nanoTime() - start, threads);
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < niveis.length; i++) {
+            summary.append(i == 0 ? "" : " | ").append(niveis[i].getDescricao()).append(": ").append(counters[i].sum());
+        }
+        summary.append(" | inválidos: ").append(invalid.sum());
+        System.err.println(summary);
+        if (cache != null) {
+            System.err.println(cache);
+        }
+    }
+
+    /**
+     * {@code stock --dir DIR --in arquivo [--threads T]}
+     * <p>
+     * Avalia cada tabuleiro com o {@link LogicalSolver} e o guarda no inventário do diretório, no
+     * nível obtido. Os blocos são avaliados em paralelo e gravados na ordem do arquivo; tabuleiros
+     * sem solução única são recusados antes da avaliação e os equivalentes a um já guardado são ignorados.
+     */
+    private static void stock(Map<String, String> options)
+            throws IOException, InterruptedException, ExecutionException {
+        int threads = threads(options);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<byte[][]> blocks = new ArrayDeque<>();
+        ArrayDeque<Future<Dificuldade[]>> pending = new ArrayDeque<>();
+        long start = System.nanoTime();
+        long total = 0;
+        long[] counts = new long[2]; // novos, recusados
+
+        try (PuzzleStore store = PuzzleStore.open(Paths.get(required(options, "dir")));
+             PuzzleReader reader = PuzzleReader.open(Paths.get(required(options, "in")))) {
+            while (true) {
+                byte[][] block = readBlock(reader);
+                if (block.length == 0) {
+                    break;
+                }
+                total += block.length;
+                blocks.add(block);
+                pending.add(pool.submit(() -> {
+                    Solver checker = SOLVERS.get();
+                    LogicalSolver solver = RATERS.get();
+                    Dificuldade[] tiers = new Dificuldade[block.length];
+                    for (int i = 0; i < block.length; i++) {
+                        // null: sem solução única, não entra no inventário
+                        tiers[i] = checker.countCells(block[i], 2) == 1 ? solver.rate(block[i]).getDificuldade() : null;
+                    }
+                    return tiers;
+                }));
+                if (pending.size() > threads * 2) {
+                    append(store, blocks.poll(), pending.poll().get(), counts);
+                }
+            }
+            while (!pending.isEmpty()) {
+                append(store, blocks.poll(), pending.poll().get(), counts);
+            }
+            printStats("guardados", total, System.nanoTime() - start, threads);
+            System.err.printf("novos: %d | repetidos: %d | inválidos: %d%n",
+                    counts[0], total - counts[0] - counts[1], counts[1]);
+            System.err.println(store);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void append(PuzzleStore store, byte[][] block, Dificuldade[] tiers, long[] counts) throws IOException {
+        for (int i = 0; i < block.length; i++) {
+            if (tiers[i] == null) {
+                counts[1]++;
+            } else if (store.append(block[i], tiers[i]) >= 0) {
+                counts[0]++;
+            }
+        }
+    }
+
+    /**
+     * {@code serve [--port P] [--loops N] [--idle-seconds S] [--checkpoint arquivo] [--inventory DIR]}
+     * <p>
+     * Sobe o servidor de jogo com o protocolo de texto do {@link SocketFrontend} e imprime
+     * as métricas a cada 10 segundos, até o processo ser encerrado. Com {@code --checkpoint},
+     * as sessões gravadas no arquivo são recuperadas na subida e o arquivo é regravado a cada 10 segundos.
+     * Com {@code --inventory}, os jogos novos são sorteados do inventário preenchido por {@code stock}.
+     */
+    private static void serve(Map<String, String> options) throws IOException, InterruptedException {
+        int port = Integer.parseInt(options.getOrDefault("port", "7070"));
+        int loops = options.containsKey("loops")
+                ? Integer.parseInt(options.get("loops"))
+                : Runtime.getRuntime().availableProcessors();
+        long idleMillis = Long.parseLong(options.getOrDefault("idle-seconds", "900")) * 1000;
+
+        Path checkpoint = options.containsKey("checkpoint") ? Paths.get(options.get("checkpoint")) : null;
+
+        PuzzleStore inventory = options.containsKey("inventory") ? PuzzleStore.open(Paths.get(options.get("inventory"))) : null;
+
+        try (inventory; GameServer server = new GameServer(loops, idleMillis, inventory)) {
+            if (inventory != null) {
+                System.err.println(inventory);
+            }
+            if (checkpoint != null && Files.exists(checkpoint)) {
+                System.err.printf("%d sessão(ões) recuperada(s) de %s%n", server.resume(checkpoint), checkpoint);
+            }
+            // as sessões recuperadas já estão no servidor quando o front-end começa a aceitar conexões
+            try (SocketFrontend frontend = new SocketFrontend(server, port)) {
+                System.err.printf("Servidor ouvindo em 127.0.0.1:%d com %d laço(s)%n", frontend.getPort(), loops);
+                while (true) {
+                    Thread.sleep(10_000);
+                    if (checkpoint != null) {
+                        long start = System.nanoTime();
+                        int saved = server.checkpoint(checkpoint);
+                        System.err.printf("checkpoint: %d sessão(ões) em %.1f ms%n", saved, (System.nanoTime() - start) / 1e6);
+                    }
+                    System.err.println(server.getStats());
+                    if (Metrics.ENABLED) {
+                        System.err.println(Metrics.report());
+                    }
+                }
+            }
+        }
+    }
+
+    private static byte[][] readBlock(PuzzleReader reader) throws IOException {
+        byte[][] block = new byte[BLOCK][81];
+        int count = 0;
+        while (count < BLOCK && reader.next(block[count])) {
+            count++;
+        }
+        if (count == BLOCK) {
+            return block;
+        }
+        byte[][] last = new byte[count][];
+        System.arraycopy(block, 0, last, 0, count);
+        return last;
+    }
+
+    private static PuzzleWriter openWriter(Map<String, String> options) throws IOException {
+        String out = options.get("out");
+        return out == null ? PuzzleWriter.wrapUnclosed(System.out) : PuzzleWriter.create(Path.of(out));
+    }
+
+    private static void printStats(String verb, long total, long nanos, int threads) {
+        System.err.printf("%d tabuleiros %s em %.3f s com %d thread(s): %.0f tabuleiros/s%n",
+                total, verb, nanos / 1e9, threads, nanos == 0 ? 0 : total * 1e9 / nanos);
+    }
+
+    private static int threads(Map<String, String> options) {
+        int threads = options.containsKey("threads")
+                ? Integer.parseInt(options.get("threads"))
+                : Runtime.getRuntime().availableProcessors();
+        if (threads < 1) {
+            throw new IllegalArgumentException("--threads deve ser pelo menos 1.");
+        }
+        return threads;
+    }
+
+    private static PuzzleCache cache(Map<String, String> options) {
+        return options.containsKey("cache") ? new PuzzleCache(Integer.parseInt(options.get("cache"))) : null;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Opção obrigatória ausente: --" + name);
+        }
+        return value;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Opção inválida: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static int usage(String error) {
+        System.err.println("Erro: " + error);
+        System.err.println("""
+                Uso:
+                  generate --count N [--seed S] [--difficulty FACIL|MEDIO|DIFICIL|ESPECIALISTA] [--threads T] [--out arquivo]
+                  generate --count N --scaling MAX [--seed S] [--difficulty NIVEL]
+                  solve    --in arquivo [--out arquivo] [--threads T] [--cache N]
+                  validate --in arquivo [--threads T]
+                  rate     --in arquivo [--threads T] [--cache N]
+                  stock    --dir DIR --in arquivo [--threads T]
+                  serve    [--port P] [--loops N] [--idle-seconds S] [--checkpoint arquivo] [--inventory DIR]
+                Sem --out, os tabuleiros são escritos na saída padrão.
+                """);
+        return 2;
+    }
+}
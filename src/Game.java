@@ -1,5 +1,7 @@
 import tabuleiro.Board;
+import tabuleiro.Deducao;
 import tabuleiro.ErroNum;
+import tabuleiro.Mensagem;
 
 import java.util.Scanner;
 
@@ -12,10 +14,16 @@ public class Game {
     /**
      * Ponto de entrada do jogo. Controla o loop principal de interação,
      * gerencia as opções de reinício, ajuda, desistência e jogadas do jogador.
+     * Quando há argumentos, roda o modo em lote ({@code generate}, {@code solve} ou
+     * {@code validate}) sem o menu interativo.
      *
-     * @param args Parâmetros de linha de comando (não utilizados).
+     * @param args Parâmetros de linha de comando: vazio para o jogo interativo ou um subcomando do modo em lote.
      */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(BatchCli.run(args));
+        }
+
         Scanner sc = new Scanner(System.in);
 
         System.out.println("Bem vindo ao Sudoku!");
@@ -56,6 +64,13 @@ public class Game {
                     2 - Reiniciar o Jogo
                     3 - Ajuda
                     4 - Desistir do Jogo
+                    5 - Remover um número
+                    6 - Verificar status do jogo
+                    7 - Desfazer jogada
+                    8 - Refazer jogada
+                    9 - Ver rascunho
+                    10 - Marcar/desmarcar número de rascunho
+                    11 - Pedir uma dica
                     """);
 
             String op = sc.nextLine();
@@ -104,6 +119,75 @@ public class Game {
                     gameOver = true;
                     System.out.println("Você desistiu do jogo. Até a próxima!");
                 }
+                case "5" -> {
+                    try {
+                        System.out.println("Informe a linha do número a remover (0 a 8): ");
+                        int linha = sc.nextInt();
+                        System.out.println("Informe a coluna do número a remover (0 a 8): ");
+                        int coluna = sc.nextInt();
+                        sc.nextLine(); // limpar buffer
+
+                        board.removeNumber(linha, coluna);
+
+                    } catch (Exception e) {
+                        // Trata entradas inválidas que podem causar falhas no Scanner
+                        System.out.println("Entrada inválida! Por favor, insira valores corretos.");
+                        sc.nextLine(); // limpa buffer e evita loop infinito
+                    }
+                }
+                case "6" -> System.out.printf("Status: %s, %s%n", board.getStatus().getDescricao(),
+                        board.hasErrors() ? "com erros" : "sem erros");
+                case "7" -> {
+                    if (!board.undo()) {
+                        System.out.println("Não há jogada para desfazer.");
+                    }
+                }
+                case "8" -> {
+                    if (!board.redo()) {
+                        System.out.println("Não há jogada para refazer.");
+                    }
+                }
+                case "9" -> board.printDraft();
+                case "10" -> {
+                    try {
+                        System.out.println("Informe a linha (0 a 8): ");
+                        int linha = sc.nextInt();
+                        System.out.println("Informe a coluna (0 a 8): ");
+                        int coluna = sc.nextInt();
+                        System.out.println("Informe o número de rascunho (1 a 9): ");
+                        int valor = sc.nextInt();
+                        sc.nextLine(); // limpar buffer
+
+                        if (!board.isEmpty(linha, coluna)) {
+                            System.out.println(Mensagem.PosicaoOcupada.getDescricao());
+                        } else if (board.toggleDraft(linha, coluna, valor)) {
+                            System.out.println("Número de rascunho marcado.");
+                        } else {
+                            System.out.println("Número de rascunho desmarcado.");
+                        }
+
+                    } catch (ErroNum e) {
+                        System.out.println("Erro: " + e.getMessage());
+                    } catch (Exception e) {
+                        System.out.println("Entrada inválida! Por favor, insira valores corretos.");
+                        sc.nextLine(); // limpa buffer e evita loop infinito
+                    }
+                }
+                case "11" -> {
+                    Deducao dica = board.hint();
+                    if (dica == null) {
+                        System.out.println("Nenhuma dica disponível: verifique se há erros no tabuleiro.");
+                    } else {
+                        System.out.println("Dica: " + dica);
+                        System.out.println("Aplicar a dica? (s/n)");
+                        if (sc.nextLine().trim().equalsIgnoreCase("s")) {
+                            Mensagem resultado = board.applyHint(dica);
+                            if (!resultado.isValor()) {
+                                System.out.println(resultado.getDescricao());
+                            }
+                        }
+                    }
+                }
                 default -> System.out.println("Opção inválida.");
             }
         }
@@ -0,0 +1,7 @@
+package servidor;
+
+public class ErroSessao extends RuntimeException {
+    public ErroSessao(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,121 @@
+package servidor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Thread única que executa, em ordem, as tarefas das sessões atribuídas a ela.
+ * Como cada sessão pertence a um único laço, as jogadas de uma sessão nunca
+ * rodam em paralelo e o {@link tabuleiro.Board} dispensa sincronização.
+ * <p>
+ * A fila é uma {@link ConcurrentLinkedQueue} (sem locks); quando fica vazia a
+ * thread estaciona com {@link LockSupport#park()} até a próxima submissão.
+ * <p>
+ * Uma tarefa submetida com o seu {@link CompletableFuture} ({@link #submit(CompletableFuture, Runnable)})
+ * nunca deixa quem espera sem resposta: se ela lançar uma exceção, ou se o laço for encerrado
+ * antes de executá-la, o futuro falha.
+ */
+final class EventLoop implements Runnable {
+
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    /** Jogadas executadas por este laço. Só a própria thread escreve. */
+    private volatile long moves;
+
+    EventLoop(String name) {
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void submit(Runnable task) {
+        tasks.offer(task);
+        LockSupport.unpark(thread);
+        if (!running) {
+            abandonPending(); // o laço já parou (ou está parando): ninguém mais executaria a tarefa
+        }
+    }
+
+    /**
+     * Submete uma tarefa cujo resultado alguém espera em {@code result}. A tarefa deve completar
+     * o futuro; se lançar uma {@link RuntimeException}, ou se o laço for encerrado antes de
+     * executá-la, o futuro é completado com a falha.
+     *
+     * @param result {@code CompletableFuture<T>} - Futuro completado pela tarefa.
+     * @param task   {@code Runnable} - Tarefa a executar no laço.
+     * @return {@code CompletableFuture<T>} - O próprio {@code result}.
+     */
+    <T> CompletableFuture<T> submit(CompletableFuture<T> result, Runnable task) {
+        submit(new Pending(task, result));
+        return result;
+    }
+
+    /**
+     * Soma uma jogada ao contador. Deve ser chamado apenas pela thread do laço.
+     */
+    void countMove() {
+        moves = moves + 1;
+    }
+
+    long getMoves() {
+        return moves;
+    }
+
+
+    @Override
+    public void run() {
+        while (running) {
+            Runnable task = tasks.poll();
+            if (task == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Uma tarefa com defeito não pode derrubar as demais sessões do laço
+                if (task instanceof Pending pending) {
+                    pending.result().completeExceptionally(e);
+                } else {
+                    System.err.println("Erro numa tarefa de sessão: " + e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Para o laço depois da tarefa em execução. As tarefas ainda na fila não são executadas:
+     * os futuros das submetidas com {@link #submit(CompletableFuture, Runnable)} falham com {@link ErroSessao}.
+     */
+    void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+        abandonPending();
+    }
+
+    /**
+     * Esvazia a fila de um laço parado, completando com falha os futuros das tarefas descartadas.
+     */
+    private void abandonPending() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            if (task instanceof Pending pending) {
+                pending.result().completeExceptionally(new ErroSessao("Servidor encerrado antes de atender o pedido."));
+            }
+        }
+    }
+
+    /** Tarefa submetida junto com o futuro que ela deve completar. */
+    private record Pending(Runnable task, CompletableFuture<?> result) implements Runnable {
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package servidor;
+
+import tabuleiro.Board;
+import tabuleiro.BoardCodec;
+import tabuleiro.BoardPool;
+import tabuleiro.Dificuldade;
+import tabuleiro.PuzzleStore;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Núcleo do servidor de jogo com várias sessões simultâneas.
+ * <p>
+ * As sessões ficam num {@link ConcurrentHashMap} indexado pelo id. Cada sessão é fixada
+ * num dos {@link EventLoop laços de eventos} (normalmente um por núcleo), que aplica as
+ * suas jogadas em ordem; assim há um único escritor por tabuleiro, sem locks. Uma tarefa
+ * periódica pede a cada laço que descarte as suas sessões ociosas há mais tempo que o
+ * limite configurado; o descarte roda no próprio laço, então nunca concorre com uma jogada.
+ * <p>
+ * Todas as operações são assíncronas e devolvem um {@link CompletableFuture}, o que permite
+ * usar o servidor diretamente em testes ou por trás de um front-end de rede como o {@link SocketFrontend}.
+ * <p>
+ * {@link #checkpoint(Path)} grava todas as sessões num arquivo com o {@link BoardCodec} (cada laço
+ * grava as suas, sem parar os outros) e {@link #resume(Path)} as recarrega depois de um reinício.
+ * <p>
+ * Os tabuleiros das sessões vêm de um {@link BoardPool}: uma sessão encerrada ou descartada
+ * devolve o seu tabuleiro, que a próxima sessão reaproveita sem alocar.
+ * <p>
+ * Com um {@link PuzzleStore inventário}, o jogo de uma sessão nova é sorteado dele em vez de
+ * gerado; o gerador só é usado quando o nível pedido não tem nenhum jogo guardado.
+ */
+public class GameServer implements AutoCloseable {
+
+    /** Quantidade máxima de tabuleiros livres guardados para novas sessões. */
+    static final int POOL_CAPACITY = 1024;
+
+    private final ConcurrentHashMap<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final EventLoop[] loops;
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ScheduledExecutorService evictor;
+    private final long idleTimeoutNanos;
+    private final long startNanos = System.nanoTime();
+    private final BoardPool boards = new BoardPool(POOL_CAPACITY);
+    private final PuzzleStore inventory;
+
+    /**
+     * @param loops              {@code int} - Quantidade de laços de eventos (threads de jogo).
+     * @param idleTimeoutMillis  {@code long} - Tempo sem acesso após o qual a sessão é descartada.
+     */
+    public GameServer(int loops, long idleTimeoutMillis) {
+        this(loops, idleTimeoutMillis, null);
+    }
+
+    /**
+     * @param loops              {@code int} - Quantidade de laços de eventos (threads de jogo).
+     * @param idleTimeoutMillis  {@code long} - Tempo sem acesso após o qual a sessão é descartada.
+     * @param inventory          {@code PuzzleStore} - Inventário de onde sortear os jogos novos, ou
+     *                           {@code null} para gerá-los. Não é fechado pelo servidor.
+     */
+    public GameServer(int loops, long idleTimeoutMillis, PuzzleStore inventory) {
+        this.inventory = inventory;
+        if (loops < 1) {
+            throw new IllegalArgumentException("O servidor precisa de pelo menos um laço de eventos.");
+        }
+        this.loops = new EventLoop[loops];
+        for (int i = 0; i < loops; i++) {
+            this.loops[i] = new EventLoop("sudoku-loop-" + i);
+            this.loops[i].start();
+        }
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sudoku-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeoutMillis / 4);
+        evictor.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cria uma sessão com um novo jogo.
+     *
+     * @param seed        {@code long} - Semente do tabuleiro.
+     * @param dificuldade {@code Dificuldade} - Nível do tabuleiro.
+     * @return {@code CompletableFuture<Long>} - Id da sessão criada, quando o jogo estiver pronto; falha
+     * se o jogo não puder ser criado ou se o servidor for encerrado antes.
+     */
+    public CompletableFuture<Long> newSession(long seed, Dificuldade dificuldade) {
+        long id = nextId.getAndIncrement();
+        Session session = new Session(id, loops[(int) (id % loops.length)], boards.acquire());
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        return session.getLoop().submit(result, () -> {
+            try {
+                startingGame(session.getBoard(), seed, dificuldade);
+            } catch (RuntimeException e) {
+                // a sessão nunca chegou a existir: o tabuleiro volta ao conjunto e quem pediu recebe a falha
+                boards.release(session.getBoard());
+                result.completeExceptionally(e);
+                return;
+            }
+            sessions.put(id, session);
+            result.complete(id);
+        });
+    }
+
+    /**
+     * Sorteia o jogo do inventário ou, se o nível não tiver nenhum guardado, gera um.
+     */
+    private void startingGame(Board board, long seed, Dificuldade dificuldade) {
+        if (inventory != null) {
+            try {
+                if (inventory.draw(dificuldade, seed, board)) {
+                    return;
+                }
+            } catch (IOException e) {
+                System.err.println("Inventário indisponível, gerando o jogo: " + e.getMessage());
+            }
+        }
+        board.startingGame(seed, dificuldade);
+    }
+
+    /**
+     * Executa uma ação de leitura sobre o tabuleiro da sessão, no laço dono da sessão; não conta
+     * como jogada nas métricas (ver {@link #executeMove(long, Function)}).
+     * A ação não deve bloquear nem guardar referência ao tabuleiro.
+     *
+     * @param sessionId {@code long} - Id da sessão.
+     * @param action    {@code Function<Board, T>} - Ação a executar.
+     * @return {@code CompletableFuture<T>} - Resultado da ação; falha com {@link ErroSessao}
+     * se a sessão não existir ou tiver sido descartada.
+     */
+    public <T> CompletableFuture<T> execute(long sessionId, Function<Board, T> action) {
+        return execute(sessionId, action, false);
+    }
+
+    /**
+     * Mesma execução de {@link #execute(long, Function)} para ações que alteram o tabuleiro
+     * (colocar ou remover um número, desfazer, refazer): cada uma conta como jogada nas métricas.
+     *
+     * @param sessionId {@code long} - Id da sessão.
+     * @param action    {@code Function<Board, T>} - Jogada a executar.
+     * @return {@code CompletableFuture<T>} - Resultado da jogada.
+     */
+    public <T> CompletableFuture<T> executeMove(long sessionId, Function<Board, T> action) {
+        return execute(sessionId, action, true);
+    }
+
+    private <T> CompletableFuture<T> execute(long sessionId, Function<Board, T> action, boolean move) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            result.completeExceptionally(new ErroSessao("Sessão " + sessionId + " não encontrada."));
+            return result;
+        }
+        EventLoop loop = session.getLoop();
+        loop.submit(result, () -> {
+            // A sessão pode ter sido descartada entre a busca e a execução
+            if (sessions.get(sessionId) != session) {
+                result.completeExceptionally(new ErroSessao("Sessão " + sessionId + " não encontrada."));
+                return;
+            }
+            session.touch();
+            try {
+                T value = action.apply(session.getBoard());
+                if (move) {
+                    loop.countMove();
+                }
+                result.complete(value);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Encerra a sessão imediatamente.
+     */
+    public void closeSession(long sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            session.getLoop().submit(() -> {
+                if (sessions.remove(sessionId, session)) {
+                    boards.release(session.getBoard());
+                }
+            });
+        }
+    }
+
+    /**
+     * Quantidade de sessões ativas.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Fotografia das métricas: sessões ativas e jogadas por laço (por núcleo).
+     */
+    public ServerStats getStats() {
+        long[] moves = new long[loops.length];
+        for (int i = 0; i < loops.length; i++) {
+            moves[i] = loops[i].getMoves();
+        }
+        return new ServerStats(sessions.size(), moves, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Grava todas as sessões ativas num arquivo: para cada sessão, o id (8 bytes), o tamanho do
+     * jogo salvo (4 bytes) e o jogo no formato do {@link BoardCodec}. Cada laço grava as próprias
+     * sessões entre uma jogada e outra, então cada tabuleiro é gravado num estado consistente.
+     * O arquivo é escrito ao lado e renomeado no fim, para que um checkpoint anterior nunca fique pela metade.
+     *
+     * @param file {@code Path} - Arquivo de destino.
+     * @return {@code int} - Quantidade de sessões gravadas.
+     * @throws IOException se a gravação falhar.
+     */
+    public int checkpoint(Path file) throws IOException {
+        AtomicInteger written = new AtomicInteger();
+        CompletableFuture<?>[] parts = new CompletableFuture<?>[loops.length];
+        for (int i = 0; i < loops.length; i++) {
+            EventLoop loop = loops[i];
+            CompletableFuture<ByteBuffer> part = new CompletableFuture<>();
+            parts[i] = part;
+            loop.submit(part, () -> {
+                try {
+                    part.complete(snapshot(loop, written));
+                } catch (RuntimeException e) {
+                    part.completeExceptionally(e);
+                }
+            });
+        }
+        ByteBuffer[] buffers = new ByteBuffer[loops.length];
+        long remaining = 0;
+        for (int i = 0; i < loops.length; i++) {
+            buffers[i] = (ByteBuffer) join(parts[i]);
+            remaining += buffers[i].remaining();
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written.get();
+    }
+
+    /**
+     * Recria as sessões gravadas por {@link #checkpoint(Path)}, com os mesmos ids. Deve ser chamado
+     * antes de o servidor receber jogadores; as novas sessões recebem ids maiores que os recuperados.
+     * Uma sessão com o jogo salvo corrompido é ignorada, sem impedir a recuperação das demais.
+     *
+     * @param file {@code Path} - Arquivo do checkpoint.
+     * @return {@code int} - Quantidade de sessões recuperadas.
+     * @throws IOException se a leitura falhar.
+     * @throws ErroSessao se o arquivo estiver truncado ou não for um checkpoint.
+     */
+    public int resume(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        AtomicInteger restored = new AtomicInteger();
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[loops.length];
+        long lastId = 0;
+        try {
+            while (buffer.hasRemaining()) {
+                long id = buffer.getLong();
+                int length = buffer.getInt();
+                if (id < 1 || length < 0 || length > buffer.remaining()) {
+                    throw new ErroSessao("Checkpoint inválido: registro corrompido na posição " + (buffer.position() - 12) + ".");
+                }
+                ByteBuffer record = buffer.slice().limit(length);
+                buffer.position(buffer.position() + length);
+
+                int slot = (int) (id % loops.length);
+                Session session = new Session(id, loops[slot], boards.acquire());
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                session.getLoop().submit(done, () -> {
+                    try {
+                        BoardCodec.decode(record, session.getBoard());
+                        sessions.put(id, session);
+                        restored.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        boards.release(session.getBoard());
+                        System.err.println("Sessão " + id + " não recuperada: " + e.getMessage());
+                    }
+                    done.complete(null);
+                });
+                pending[slot] = done; // cada laço executa em ordem: basta esperar a última tarefa dele
+                lastId = Math.max(lastId, id);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new ErroSessao("Checkpoint inválido: arquivo incompleto.");
+        }
+        long next = lastId + 1;
+        nextId.accumulateAndGet(next, Math::max);
+        for (CompletableFuture<?> done : pending) {
+            if (done != null) {
+                join(done);
+            }
+        }
+        return restored.get();
+    }
+
+    /**
+     * Grava as sessões do laço num buffer. Roda no próprio laço: só ele cria e remove as suas sessões.
+     */
+    private ByteBuffer snapshot(EventLoop loop, AtomicInteger written) {
+        int size = 0;
+        for (Session session : sessions.values()) {
+            if (session.getLoop() == loop) {
+                size += 12 + BoardCodec.encodedSize(session.getBoard());
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (Session session : sessions.values()) {
+            if (session.getLoop() == loop) {
+                Board board = session.getBoard();
+                buffer.putLong(session.getId());
+                buffer.putInt(BoardCodec.encodedSize(board));
+                BoardCodec.encode(board, buffer);
+                written.incrementAndGet();
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Pede a cada laço que descarte as próprias sessões ociosas.
+     */
+    void evictIdle() {
+        long limit = System.nanoTime() - idleTimeoutNanos;
+        for (EventLoop loop : loops) {
+            loop.submit(() -> evictIdle(loop, limit));
+        }
+    }
+
+    /**
+     * Descarta as sessões do laço sem acesso desde {@code limit} e devolve os seus tabuleiros ao conjunto.
+     * Roda no próprio laço, então nenhuma jogada usa esses tabuleiros ao mesmo tempo.
+     */
+    private void evictIdle(EventLoop loop, long limit) {
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            Session session = it.next();
+            if (session.getLoop() == loop && session.getLastAccess() - limit < 0) {
+                it.remove();
+                boards.release(session.getBoard());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        try {
+            for (EventLoop loop : loops) {
+                loop.shutdown();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sessions.clear();
+    }
+}
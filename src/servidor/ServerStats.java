@@ -0,0 +1,42 @@
+package servidor;
+
+/**
+ * Métricas de um {@link GameServer} num dado instante.
+ */
+public class ServerStats {
+
+    private final int sessions;
+    private final long[] movesPerLoop;
+    private final long uptimeNanos;
+
+    ServerStats(int sessions, long[] movesPerLoop, long uptimeNanos) {
+        this.sessions = sessions;
+        this.movesPerLoop = movesPerLoop;
+        this.uptimeNanos = uptimeNanos;
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    public long getMoves() {
+        long total = 0;
+        for (long moves : movesPerLoop) {
+            total += moves;
+        }
+        return total;
+    }
+
+    /**
+     * Média de jogadas por segundo de cada laço (um laço por núcleo), desde o início do servidor.
+     */
+    public double getMovesPerSecondPerLoop() {
+        return uptimeNanos == 0 ? 0 : getMoves() * 1e9 / uptimeNanos / movesPerLoop.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d sessões, %d jogadas, %.0f jogadas/s por laço (%d laços)",
+                sessions, getMoves(), getMovesPerSecondPerLoop(), movesPerLoop.length);
+    }
+}
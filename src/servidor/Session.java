@@ -0,0 +1,48 @@
+package servidor;
+
+import tabuleiro.Board;
+
+/**
+ * Estado de um jogador conectado: o tabuleiro e o laço que é o único a alterá-lo.
+ */
+final class Session {
+
+    private final long id;
+    private final Board board;
+    private final EventLoop loop;
+    /** Momento do último acesso, em {@link System#nanoTime()}. */
+    private volatile long lastAccess;
+
+    /**
+     * @param board {@code Board} - Tabuleiro da sessão, vindo do {@link tabuleiro.BoardPool} do servidor.
+     */
+    Session(long id, EventLoop loop, Board board) {
+        this.id = id;
+        this.loop = loop;
+        this.board = board;
+        touch();
+    }
+
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Tabuleiro da sessão. Só pode ser usado dentro de tarefas do {@link #getLoop() laço} da sessão.
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    EventLoop getLoop() {
+        return loop;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+}
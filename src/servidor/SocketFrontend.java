@@ -0,0 +1,162 @@
+package servidor;
+
+import tabuleiro.Board;
+import tabuleiro.Deducao;
+import tabuleiro.Dificuldade;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Front-end de rede simples para o {@link GameServer}: um protocolo de texto, uma linha por comando.
+ * <pre>
+ * NEW [semente] [FACIL|MEDIO|DIFICIL|ESPECIALISTA]  -> OK id
+ * PUT id linha coluna valor                         -> OK Mensagem
+ * DEL id linha coluna                               -> OK Mensagem
+ * UNDO id | REDO id                                 -> OK true|false
+ * STATUS id                                         -> OK STATUS com-erros
+ * BOARD id                                          -> OK 81 caracteres ('.' para vazio)
+ * HINT id                                           -> OK próxima dedução e justificativa
+ * STATS                                             -> OK métricas do servidor
+ * QUIT
+ * </pre>
+ * Erros são respondidos como {@code ERRO mensagem}. As conexões só fazem leitura e escrita;
+ * as jogadas rodam nos laços de eventos do {@link GameServer}.
+ */
+public class SocketFrontend implements Closeable {
+
+    private final GameServer server;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sudoku-conexao");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Abre a porta e começa a aceitar conexões em segundo plano.
+     *
+     * @param server {@code GameServer} - Núcleo que executa as jogadas.
+     * @param port   {@code int} - Porta local; {@code 0} escolhe uma porta livre.
+     * @throws IOException se a porta não puder ser aberta.
+     */
+    public SocketFrontend(GameServer server, int port) throws IOException {
+        this.server = server;
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        connections.submit(this::acceptLoop);
+    }
+
+    /**
+     * Porta efetivamente aberta.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.submit(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Falha ao aceitar conexão: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts[0].equalsIgnoreCase("QUIT")) {
+                    return;
+                }
+                try {
+                    out.println("OK " + dispatch(parts));
+                } catch (CompletionException e) {
+                    out.println("ERRO " + e.getCause().getMessage());
+                } catch (RuntimeException e) {
+                    out.println("ERRO " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            // Conexão encerrada pelo cliente
+        }
+    }
+
+    private Object dispatch(String[] parts) {
+        switch (parts[0].toUpperCase()) {
+            case "NEW": {
+                long seed = parts.length > 1 ? Long.parseLong(parts[1]) : new SplittableRandom().nextLong();
+                Dificuldade dificuldade = parts.length > 2 ? Dificuldade.valueOf(parts[2].toUpperCase()) : Dificuldade.MEDIO;
+                return server.newSession(seed, dificuldade).join();
+            }
+            case "PUT": {
+                int row = Integer.parseInt(parts[2]);
+                int col = Integer.parseInt(parts[3]);
+                int digit = Integer.parseInt(parts[4]);
+                return server.executeMove(id(parts), board -> board.applyNumber(row, col, digit)).join();
+            }
+            case "DEL": {
+                int row = Integer.parseInt(parts[2]);
+                int col = Integer.parseInt(parts[3]);
+                return server.executeMove(id(parts), board -> board.applyRemoval(row, col)).join();
+            }
+            case "UNDO":
+                return server.executeMove(id(parts), Board::undo).join();
+            case "REDO":
+                return server.executeMove(id(parts), Board::redo).join();
+            case "STATUS":
+                return server.execute(id(parts), board -> board.getStatus() + " " + board.hasErrors()).join();
+            case "BOARD":
+                return server.execute(id(parts), SocketFrontend::toLine).join();
+            case "HINT":
+                return server.execute(id(parts), board -> {
+                    Deducao hint = board.hint();
+                    return hint == null ? "nenhuma" : hint.toString();
+                }).join();
+            case "STATS":
+                return server.getStats();
+            default:
+                throw new IllegalArgumentException("Comando desconhecido: " + parts[0]);
+        }
+    }
+
+    private static long id(String[] parts) {
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Informe o id da sessão.");
+        }
+        return Long.parseLong(parts[1]);
+    }
+
+    private static String toLine(Board board) {
+        char[] line = new char[81];
+        for (int index = 0; index < 81; index++) {
+            int digit = board.getNumber(index / 9, index % 9);
+            line[index] = digit == 0 ? '.' : (char) ('0' + digit);
+        }
+        return new String(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
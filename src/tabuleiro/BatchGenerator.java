@@ -0,0 +1,181 @@
+package tabuleiro;
+
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Geração de tabuleiros em lote usando todos os núcleos disponíveis.
+ * <p>
+ * O lote é dividido em blocos fixos de {@value #CHUNK} tabuleiros. Cada bloco tem o seu
+ * próprio {@link java.util.SplittableRandom}, semeado apenas pela semente mestre e pelo
+ * número do bloco, então o tabuleiro de índice {@code i} é sempre o mesmo,
+ * independentemente da quantidade de threads. Em {@link #generate}, os tabuleiros são entregues
+ * a um {@link PuzzleSink} à medida que ficam prontos, sem serem acumulados em memória; em
+ * {@link #generateOrdered}, são entregues na ordem dos índices, ao custo de guardar uma leva de blocos.
+ */
+public class BatchGenerator {
+
+    /** Quantidade de tabuleiros gerados por cada tarefa folha. */
+    static final int CHUNK = 256;
+    /** Blocos por thread em cada leva de {@link #generateOrdered}. */
+    static final int WAVE_CHUNKS = 4;
+
+    /**
+     * Gera {@code count} tabuleiros em paralelo.
+     *
+     * @param count       {@code long} - Quantidade de tabuleiros a gerar.
+     * @param masterSeed  {@code long} - Semente mestre do lote.
+     * @param dificuldade {@code Dificuldade} - Nível dos tabuleiros.
+     * @param threads     {@code int} - Quantidade de threads de trabalho.
+     * @param sink        {@code PuzzleSink} - Destino de cada tabuleiro gerado.
+     * @return {@code BatchStats} - Quantidade gerada, tempo total e vazão.
+     */
+    public static BatchStats generate(long count, long masterSeed, Dificuldade dificuldade,
+                                      int threads, PuzzleSink sink) {
+        if (count < 0 || threads < 1) {
+            throw new IllegalArgumentException("Quantidade não pode ser negativa e deve haver ao menos uma thread.");
+        }
+        long chunks = (count + CHUNK - 1) / CHUNK;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+            pool.invoke(new ChunkTask(0, chunks, count, masterSeed, dificuldade, sink));
+        } finally {
+            pool.shutdown();
+        }
+        return new BatchStats(count, threads, System.nanoTime() - start);
+    }
+
+    /**
+     * Como {@link #generate}, mas entregando os tabuleiros em ordem de índice, todos na thread que
+     * chamou: a mesma semente produz sempre a mesma sequência, e o destino não precisa ser thread-safe.
+     * <p>
+     * Os blocos são gerados em levas de {@value #WAVE_CHUNKS} blocos por thread; as células de
+     * uma leva ficam num vetor até a leva terminar e então são entregues. A memória usada não
+     * depende de {@code count}, e as threads só esperam umas pelas outras no fim de cada leva.
+     *
+     * @param count       {@code long} - Quantidade de tabuleiros a gerar.
+     * @param masterSeed  {@code long} - Semente mestre do lote.
+     * @param dificuldade {@code Dificuldade} - Nível dos tabuleiros.
+     * @param threads     {@code int} - Quantidade de threads de trabalho.
+     * @param sink        {@code PuzzleSink} - Destino de cada tabuleiro gerado, chamado na thread atual.
+     * @return {@code BatchStats} - Quantidade gerada, tempo total e vazão.
+     */
+    public static BatchStats generateOrdered(long count, long masterSeed, Dificuldade dificuldade,
+                                             int threads, PuzzleSink sink) {
+        if (count < 0 || threads < 1) {
+            throw new IllegalArgumentException("Quantidade não pode ser negativa e deve haver ao menos uma thread.");
+        }
+        long chunks = (count + CHUNK - 1) / CHUNK;
+        int waveChunks = threads * WAVE_CHUNKS;
+        byte[] wave = new byte[waveChunks * CHUNK * 81];
+        byte[] puzzle = new byte[81];
+        Board board = new Board();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+            for (long from = 0; from < chunks; from += waveChunks) {
+                long first = from * CHUNK;
+                long end = Math.min(count, (from + waveChunks) * CHUNK);
+                pool.invoke(new ChunkTask(from, Math.min(chunks, from + waveChunks), count, masterSeed, dificuldade,
+                        (index, generated) -> System.arraycopy(generated.cells(), 0, wave, (int) (index - first) * 81, 81)));
+                for (long index = first; index < end; index++) {
+                    System.arraycopy(wave, (int) (index - first) * 81, puzzle, 0, 81);
+                    board.loadGivens(puzzle);
+                    sink.accept(index, board);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new BatchStats(count, threads, System.nanoTime() - start);
+    }
+
+    /**
+     * Mede a vazão com 1, 2, 4, ... até {@code maxThreads} threads e imprime a
+     * aceleração em relação a uma thread. Usado por {@code generate --scaling}.
+     *
+     * @param count       {@code long} - Tabuleiros gerados em cada medição.
+     * @param masterSeed  {@code long} - Semente mestre (a mesma em todas as medições).
+     * @param dificuldade {@code Dificuldade} - Nível dos tabuleiros.
+     * @param maxThreads  {@code int} - Maior quantidade de threads medida.
+     * @param out         {@code PrintStream} - Onde o relatório é impresso.
+     */
+    public static void relatorioEscala(long count, long masterSeed, Dificuldade dificuldade, int maxThreads,
+                                       PrintStream out) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("--scaling deve ser pelo menos 1.");
+        }
+        // rodada de aquecimento, fora da medição: sem ela, a primeira linha mede também o JIT
+        generate(count, masterSeed, dificuldade, maxThreads, (index, puzzle) -> { });
+        double base = 0;
+        out.println("threads | tabuleiros/s | aceleração");
+        int threads = 1;
+        while (true) {
+            BatchStats stats = generate(count, masterSeed, dificuldade, threads, (index, puzzle) -> { });
+            if (threads == 1) {
+                base = stats.getPuzzlesPerSecond();
+            }
+            out.printf("%7d | %12.0f | %9.2fx%n", threads, stats.getPuzzlesPerSecond(),
+                    stats.getPuzzlesPerSecond() / base);
+            if (threads >= maxThreads) {
+                break;
+            }
+            threads = Math.min(threads * 2, maxThreads);
+        }
+    }
+
+    /**
+     * Deriva a semente de um bloco a partir da semente mestre (finalizador do SplitMix64),
+     * para que blocos vizinhos tenham sequências sem relação entre si.
+     */
+    static long chunkSeed(long masterSeed, long chunk) {
+        long z = masterSeed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Divide o intervalo de blocos ao meio até restar um único bloco,
+     * que é gerado na thread atual.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long fromChunk;
+        private final long toChunk;
+        private final long count;
+        private final long masterSeed;
+        private final Dificuldade dificuldade;
+        private final transient PuzzleSink sink;
+
+        ChunkTask(long fromChunk, long toChunk, long count, long masterSeed,
+                  Dificuldade dificuldade, PuzzleSink sink) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.count = count;
+            this.masterSeed = masterSeed;
+            this.dificuldade = dificuldade;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                long middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ChunkTask(fromChunk, middle, count, masterSeed, dificuldade, sink),
+                        new ChunkTask(middle, toChunk, count, masterSeed, dificuldade, sink));
+                return;
+            }
+            Generator generator = new Generator(chunkSeed(masterSeed, fromChunk));
+            Board board = new Board();
+            long end = Math.min(count, (fromChunk + 1) * CHUNK);
+            for (long index = fromChunk * CHUNK; index < end; index++) {
+                generator.generate(board, dificuldade);
+                sink.accept(index, board);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package tabuleiro;
+
+/**
+ * Resultado de uma execução do {@link BatchGenerator}.
+ */
+public class BatchStats {
+
+    private final long puzzles;
+    private final int threads;
+    private final long elapsedNanos;
+
+    public BatchStats(long puzzles, int threads, long elapsedNanos) {
+        this.puzzles = puzzles;
+        this.threads = threads;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getPuzzles() {
+        return puzzles;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Vazão média do lote em tabuleiros por segundo.
+     */
+    public double getPuzzlesPerSecond() {
+        return elapsedNanos == 0 ? 0 : puzzles * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d tabuleiros em %.3f s com %d thread(s): %.0f tabuleiros/s",
+                puzzles, elapsedNanos / 1e9, threads, getPuzzlesPerSecond());
+    }
+}
@@ -1,82 +1,347 @@
 package tabuleiro;
 
 import java.util.Arrays;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Board {
-    private String[][] board  = new String[9][9];
-    private String[][] defaultBoard;
+    /** Valor usado para representar uma célula vazia em {@link #cells}. */
+    static final byte EMPTY = 0;
+    /**
+     * Gerador de cada thread, reaproveitado por {@link #startingGame(long, Dificuldade)}: um
+     * {@link Generator} novo a cada jogo alocaria o {@link Solver} e os vetores de trabalho de novo.
+     */
+    private static final ThreadLocal<Generator> GENERATORS = ThreadLocal.withInitial(() -> new Generator(0));
 
+    /** Células do tabuleiro em ordem de linha ({@code row * 9 + col}); {@code 0} significa vazio. */
+    private final byte[] cells = new byte[81];
+    /** Máscara de 9 bits com os dígitos já presentes em cada linha (bit {@code d - 1} para o dígito {@code d}). */
+    private final int[] rowMask = new int[9];
+    /** Máscara de 9 bits com os dígitos já presentes em cada coluna. */
+    private final int[] colMask = new int[9];
+    /**
+     * Máscara de 9 bits com os dígitos já presentes em cada bloco 3x3, ou em cada região
+     * de {@link #rules} quando ela não usa os blocos (jigsaw).
+     */
+    private final int[] blockMask = new int[9];
+    /** Máscara de 9 bits de cada unidade extra de {@link #rules} (as diagonais do Sudoku X, por exemplo). */
+    private int[] extraMask = new int[0];
+    /**
+     * Quantas vezes cada dígito aparece em cada unidade (linhas 0-8, colunas 9-17, blocos ou
+     * regiões 18-26 e as unidades extras de {@link #rules} a partir de 27), no índice
+     * {@code unidade * 9 + dígito - 1}.
+     */
+    private byte[] unitCount = new byte[27 * 9];
+    /**
+     * Candidatos (números de rascunho) de cada célula vazia, em máscara de 9 bits.
+     * Mantidos a cada jogada: colocar um número o elimina das 20 células vizinhas e
+     * removê-lo o devolve às vizinhas onde ele voltou a ser possível.
+     */
+    private final short[] candidates = new short[81];
+    private final byte[] defaultBoard = new byte[81];
+    /**
+     * Regras do jogo: validam as jogadas e o fim de jogo, e as suas unidades (linhas, colunas,
+     * regiões e unidades extras) definem as máscaras, os conflitos e o rascunho automático.
+     * As dicas só existem no jogo clássico.
+     */
+    private Rules rules = Rules.STANDARD;
+    /** Dedução reaproveitada por {@link #hint()}, criada na primeira dica. */
+    private Deducao hint;
+    /**
+     * Rascunho editado à mão restrito aos números que ainda cabem em cada célula, usado por
+     * {@link #hint()}; criado na primeira dica sobre um rascunho editado.
+     */
+    private short[] hintCandidates;
+    /** Quantidade de células preenchidas. */
+    private int filled;
+    /**
+     * Quantidade de números iniciais colocados no tabuleiro: os de {@code defaultBoard}, ou
+     * nenhum depois de {@link #zerarTabuleiro()}.
+     */
+    private int givens;
+    /** Soma, em todas as unidades, das repetições de cada dígito além da primeira ocorrência. */
+    private int conflicts;
+
+    /**
+     * Histórico de jogadas desde os números iniciais. Cada entrada guarda a célula, o valor
+     * anterior e o novo valor ({@code index << 8 | anterior << 4 | novo}, 0 para vazio).
+     */
+    private int[] journal = new int[64];
+    /** Quantidade de entradas válidas no histórico (inclui as que podem ser refeitas). */
+    private int journalSize;
+    /** Posição atual no histórico: entradas antes dela estão aplicadas, as depois podem ser refeitas. */
+    private int journalCursor;
+    /**
+     * Identificador de cada entrada do histórico, único no tabuleiro: uma marca de {@link #checkpoint()}
+     * guarda o da última entrada aplicada e deixa de valer quando essa posição é regravada.
+     */
+    private int[] journalIds = new int[64];
+    /** Identificador do início do histórico, trocado sempre que o histórico é descartado. */
+    private int journalBaseId;
+    /** Último identificador entregue a uma entrada ou ao início do histórico. */
+    private int lastJournalId;
     /**
-     * Inicia o jogo preenchendo o tabuleiro com valores válidos aleatórios
+     * Indica que o tabuleiro deixou de ser "números iniciais + histórico" (após {@link #zerarTabuleiro()}
+     * ou ao carregar outro jogo) e precisa ser reconstruído a partir de {@code defaultBoard}.
+     */
+    private boolean rebuildNeeded = true;
+    /**
+     * Indica que o rascunho foi alterado à mão ({@link #toggleDraft} ou eliminações de dicas) desde
+     * {@link #zerarTabuleiro()} e pode não ser mais o calculado a partir das máscaras.
+     */
+    private boolean draftEdited;
+
+    /**
+     * Cria um tabuleiro vazio, sem números iniciais, com todos os números no rascunho de cada célula.
+     */
+    public Board() {
+        Arrays.fill(candidates, (short) Validator.ALL_DIGITS);
+    }
+
+    /**
+     * Inicia o jogo com um tabuleiro aleatório de dificuldade média
      * e salva uma cópia do estado inicial para reinicialização futura.
      */
     public void startingGame(){
-        popularBoard();
-        defaultBoard = Arrays.stream(board)
-                .map(String[]::clone)
-                .toArray(String[][]::new);
+        startingGame(new SplittableRandom().nextLong(), Dificuldade.MEDIO);
     }
 
     /**
-     * Limpa o tabuleiro preenchendo todas as posições com espaços em branco.
-     * Deve ser chamada antes de qualquer nova configuração.
+     * Inicia o jogo com um tabuleiro de solução única gerado a partir da semente informada.
+     * A mesma semente e dificuldade sempre produzem o mesmo tabuleiro.
+     *
+     * @param seed        {@code long} - Semente do gerador.
+     * @param dificuldade {@code Dificuldade} - Nível que define a quantidade de números iniciais.
      */
-    public void zerarTabuleiro() {
-        for (String[] rows : board) {
-            Arrays.fill(rows, "     "); // Espaço visual reservado para cada célula
+    public void startingGame(long seed, Dificuldade dificuldade){
+        startingGame(Rules.STANDARD, seed, dificuldade);
+    }
+
+    /**
+     * Inicia o jogo numa variante: o tabuleiro é gerado pelo {@link VariantGenerator} e as
+     * jogadas passam a ser validadas com as regras informadas, até o próximo jogo ou {@link #reset()}.
+     *
+     * @param rules       {@code Rules} - Regras da variante ({@link Rules#STANDARD} para o jogo clássico).
+     * @param seed        {@code long} - Semente do gerador.
+     * @param dificuldade {@code Dificuldade} - Nível que define a quantidade de números iniciais.
+     */
+    public void startingGame(Rules rules, long seed, Dificuldade dificuldade){
+        useRules(rules);
+        if (rules.isStandard()) {
+            popularBoard(seed, dificuldade);
+        } else {
+            new VariantGenerator(rules, seed).generate(this, dificuldade);
+        }
+    }
+
+    /**
+     * Regras usadas para validar as jogadas deste tabuleiro.
+     */
+    public Rules getRules() {
+        return rules;
+    }
+
+    /**
+     * Troca as regras, ajustando os contadores às unidades delas, e esvazia o tabuleiro.
+     */
+    private void useRules(Rules rules) {
+        if (rules == this.rules) {
+            return;
+        }
+        this.rules = rules;
+        if (unitCount.length != rules.units.length) {
+            unitCount = new byte[rules.units.length];
+        }
+        if (extraMask.length != rules.extraUnitCount()) {
+            extraMask = new int[rules.extraUnitCount()];
         }
+        zerarTabuleiro();
     }
 
     /**
-     * Restaura o tabuleiro para o estado inicial salvo no início do jogo,
-     * copiando os valores da matriz {@code defaultBoard}.
+     * Limpa o tabuleiro deixando todas as posições vazias, inclusive as dos números iniciais,
+     * que só voltam com {@link #reiniciarTabuleiro()}. Deve ser chamada antes de qualquer nova configuração.
+     */
+    public void zerarTabuleiro() {
+        Arrays.fill(cells, EMPTY);
+        Arrays.fill(rowMask, 0);
+        Arrays.fill(colMask, 0);
+        Arrays.fill(blockMask, 0);
+        Arrays.fill(extraMask, 0);
+        Arrays.fill(unitCount, (byte) 0);
+        Arrays.fill(candidates, (short) Validator.ALL_DIGITS);
+        filled = 0;
+        givens = 0;
+        conflicts = 0;
+        journalSize = 0;
+        journalCursor = 0;
+        journalBaseId = ++lastJournalId;
+        rebuildNeeded = true;
+        draftEdited = false;
+    }
+
+    /**
+     * Restaura o tabuleiro para o estado inicial salvo no início do jogo.
      * Isso permite ao jogador recomeçar a partir do layout inicial gerado.
+     * Normalmente desfaz as jogadas do histórico, com custo proporcional à quantidade de jogadas
+     * (que continuam disponíveis para {@link #redo()}); só reconstrói o tabuleiro inteiro a partir
+     * de {@code defaultBoard} depois de {@link #zerarTabuleiro()} ou da carga de um novo jogo.
      */
     public void reiniciarTabuleiro() {
-        board = Arrays.stream(defaultBoard)
-                .map(String[]::clone)
-                .toArray(String[][]::new);
+        if (!rebuildNeeded) {
+            while (undo()) {
+                // volta aos números iniciais pelo histórico
+            }
+            return;
+        }
+        zerarTabuleiro();
+        for (int index = 0; index < 81; index++) {
+            if (defaultBoard[index] != EMPTY) {
+                place(Topology.ROW[index], Topology.COL[index], defaultBoard[index]);
+                givens++;
+            }
+        }
+        rebuildNeeded = false;
     }
 
     /**
-     * Preenche o tabuleiro com 4 números aleatórios distintos de 1 a 9 em cada linha.
+     * Preenche o tabuleiro com um jogo de solução única gerado pelo {@link Generator}.
      * Garante que:
      * <ul>
      *   <li>Não haja repetição na linha (horizontal)</li>
      *   <li>Não haja repetição na coluna (vertical)</li>
      *   <li>Não haja repetição no bloco 3x3 correspondente</li>
+     *   <li>O tabuleiro tenha exatamente uma solução</li>
      * </ul>
-     * Os números são validados com a classe {@link Validator}.
      * @return void - Este método não retorna nenhum valor.
-     * Método privado, utilizado apenas internamente em {@link #startingGame()}.
+     * Método privado, utilizado apenas internamente em {@link #startingGame(long, Dificuldade)}.
      */
-    private void popularBoard() {
-        Random numericalGenerator = new Random();
+    private void popularBoard(long seed, Dificuldade dificuldade) {
+        Generator generator = GENERATORS.get();
+        generator.reseed(seed);
+        generator.generate(this, dificuldade);
+    }
 
+    /**
+     * Volta ao estado de um tabuleiro recém-criado (sem números iniciais nem histórico, com as
+     * regras clássicas e todos os números no rascunho de cada célula), no próprio lugar: os vetores
+     * são limpos e reaproveitados, sem alocação. Usado pelo {@link BoardPool} ao receber um tabuleiro de volta.
+     */
+    public void reset() {
+        Arrays.fill(defaultBoard, EMPTY);
+        useRules(Rules.STANDARD);
         zerarTabuleiro();
+    }
 
-        // Para cada linha, preenche até 4 posições válidas
-        for (int rowIndex = 0; rowIndex < 9; rowIndex++) {
-            int count = 0;
-            while (count < 4) {
-                int randomFilling = numericalGenerator.nextInt(9);
-                String randomValue = String.valueOf(numericalGenerator.nextInt(9) + 1);
-
-                Mensagem valid = Validator.isValid(board, randomFilling, randomValue, rowIndex);
+    /**
+     * Carrega os números iniciais de um jogo e os salva como o estado inicial
+     * usado por {@link #reiniciarTabuleiro()}.
+     *
+     * @param givens {@code byte[]} - 81 células em ordem de linha, com {@code 0} para vazio.
+     */
+    void loadGivens(byte[] givens) {
+        System.arraycopy(givens, 0, defaultBoard, 0, defaultBoard.length);
+        rebuildNeeded = true;
+        reiniciarTabuleiro();
+    }
 
-                if (board[rowIndex][randomFilling].isBlank() && valid.isValor()) {
-                    board[rowIndex][randomFilling] = "  " + randomValue + "  ";
-                    count++;
+    /**
+     * Restaura um jogo salvo pelo {@link BoardCodec} de uma só vez: máscaras, contadores e
+     * rascunho são recalculados direto das células, sem reaplicar as jogadas do histórico.
+     *
+     * @param givens   {@code byte[]} - Números iniciais (81 células, 0 para vazio).
+     * @param state    {@code byte[]} - Células atuais.
+     * @param drafts   {@code short[]} - Rascunho das 81 células (0 nas preenchidas), ou {@code null} para o
+     *                 rascunho calculado a partir das máscaras.
+     * @param moves    {@code int[]} - Entradas do histórico, no formato de {@link #journal}.
+     * @param size     {@code int} - Quantidade de entradas em {@code moves}.
+     * @param cursor   {@code int} - Posição atual no histórico.
+     * @param rebuild  {@code boolean} - Se as células atuais não são "números iniciais + histórico"
+     *                 (ver {@link #rebuildNeeded}).
+     */
+    void restore(byte[] givens, byte[] state, short[] drafts, int[] moves, int size, int cursor, boolean rebuild) {
+        System.arraycopy(givens, 0, defaultBoard, 0, 81);
+        System.arraycopy(state, 0, cells, 0, 81);
+        Arrays.fill(rowMask, 0);
+        Arrays.fill(colMask, 0);
+        Arrays.fill(blockMask, 0);
+        Arrays.fill(extraMask, 0);
+        Arrays.fill(unitCount, (byte) 0);
+        int[] regionOf = rules.regionOf;
+        int givenCount = 0;
+        int filledCount = 0;
+        boolean repeated = false;
+        for (int row = 0, index = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++, index++) {
+                int digit = cells[index];
+                if (defaultBoard[index] != EMPTY && digit == defaultBoard[index]) {
+                    givenCount++; // só os números iniciais presentes: nenhum depois de zerarTabuleiro()
                 }
-
+                if (digit != EMPTY) {
+                    int bit = 1 << (digit - 1);
+                    int block = regionOf[index];
+                    filledCount++;
+                    repeated |= (unitMasks(index) & bit) != 0;
+                    rowMask[row] |= bit;
+                    colMask[col] |= bit;
+                    blockMask[block] |= bit;
+                    for (int k = rules.extraStart[index]; k < rules.extraStart[index + 1]; k++) {
+                        extraMask[rules.extraUnits[k]] |= bit;
+                    }
+                }
+            }
+        }
+        int conflictCount = 0;
+        if (!repeated) {
+            // sem repetições cada dígito aparece no máximo uma vez por unidade: a contagem é a própria máscara
+            for (int unit = 0; unit < 9; unit++) {
+                countBits(unit, rowMask[unit]);
+                countBits(9 + unit, colMask[unit]);
+                countBits(18 + unit, blockMask[unit]);
             }
+            for (int unit = 0; unit < extraMask.length; unit++) {
+                countBits(Topology.UNIT_COUNT + unit, extraMask[unit]);
+            }
+        } else {
+            for (int index = 0; index < 81; index++) {
+                int digit = cells[index];
+                if (digit != EMPTY) {
+                    conflictCount += count(Topology.ROW[index], digit) + count(9 + Topology.COL[index], digit)
+                            + count(18 + regionOf[index], digit);
+                    for (int k = rules.extraStart[index]; k < rules.extraStart[index + 1]; k++) {
+                        conflictCount += count(Topology.UNIT_COUNT + rules.extraUnits[k], digit);
+                    }
+                }
+            }
+        }
+        this.givens = givenCount;
+        filled = filledCount;
+        conflicts = conflictCount;
+        if (drafts != null) {
+            System.arraycopy(drafts, 0, candidates, 0, 81);
+        } else {
+            for (int index = 0; index < 81; index++) {
+                candidates[index] = cells[index] != EMPTY ? 0 : (short) (~unitMasks(index) & Validator.ALL_DIGITS);
+            }
+        }
+
+        if (journal.length < size) {
+            journal = new int[Integer.highestOneBit(size - 1) << 1];
+            journalIds = new int[journal.length];
+        }
+        System.arraycopy(moves, 0, journal, 0, size);
+        journalBaseId = ++lastJournalId;
+        for (int i = 0; i < size; i++) {
+            journalIds[i] = ++lastJournalId;
         }
+        journalSize = size;
+        journalCursor = cursor;
+        rebuildNeeded = rebuild;
+        draftEdited = drafts != null;
     }
 
     /**
      * Tenta adicionar um número no tabuleiro na posição especificada,
-     * desde que ele passe pelas validações de linha, coluna e bloco.
+     * desde que a posição esteja vazia e o número passe pelas validações de linha, coluna e bloco.
      *
      * @param row   {@code int} - Índice da linha onde o número será inserido (0 a 8).
      * @param col   {@code int} - Índice da coluna onde o número será inserido (0 a 8).
@@ -84,37 +349,521 @@ public class Board {
      * @return void - Este método não retorna valor, mas imprime mensagens de erro se a validação falhar.
      */
     public void addNumber(int row, int col, String value) {
-        // Validação de intervalo
-        if (!value.matches("[1-9]")) { // Só permite valores de 1 a 9
+        // Validação de intervalo: só permite um único dígito de 1 a 9
+        if (value.length() != 1 || value.charAt(0) < '1' || value.charAt(0) > '9') {
             throw new ErroNum("Valor inválido! Só são permitidos números de 1 a 9.");
         }
+        System.out.println(applyNumber(row, col, value.charAt(0) - '0').getDescricao());
+    }
 
-        Mensagem validNumber = validateNumber(row, col, value);
+    /**
+     * Mesma regra de {@link #addNumber(int, int, String)}, mas sem imprimir nada:
+     * o resultado é devolvido para quem chamou (por exemplo, um servidor de jogo).
+     *
+     * @param row   {@code int} - Índice da linha onde o número será inserido (0 a 8).
+     * @param col   {@code int} - Índice da coluna onde o número será inserido (0 a 8).
+     * @param digit {@code int} - Número de 1 a 9.
+     * @return {@code Mensagem} - Resultado da jogada.
+     */
+    public Mensagem applyNumber(int row, int col, int digit) {
+        if (digit < 1 || digit > 9) {
+            throw new ErroNum("Valor inválido! Só são permitidos números de 1 a 9.");
+        }
+        Mensagem validNumber = isEmpty(row, col) ? validateNumber(row, col, digit) : Mensagem.PosicaoOcupada;
+        if (Metrics.ENABLED && validNumber == Mensagem.PosicaoOcupada) {
+            Metrics.mensagem(validNumber); // as demais já foram contadas pelo Validator
+        }
         if (validNumber.isValor()) {
-            board[row][col] = "  " + value + "  ";
-            System.out.println(validNumber.getDescricao());
-        } else {
-            System.out.println(validNumber.getDescricao());
+            play(row, col, digit);
+        }
+        return validNumber;
+    }
+
+
+    /**
+     * Tenta remover o número informado pelo jogador na posição especificada.
+     * Números fixos do jogo não podem ser removidos.
+     *
+     * @param row {@code int} - Índice da linha do número a ser removido (0 a 8).
+     * @param col {@code int} - Índice da coluna do número a ser removido (0 a 8).
+     * @return void - Este método não retorna valor, mas imprime o resultado da remoção.
+     */
+    public void removeNumber(int row, int col) {
+        System.out.println(applyRemoval(row, col).getDescricao());
+    }
+
+    /**
+     * Mesma regra de {@link #removeNumber(int, int)}, mas sem imprimir nada.
+     *
+     * @param row {@code int} - Índice da linha do número a ser removido (0 a 8).
+     * @param col {@code int} - Índice da coluna do número a ser removido (0 a 8).
+     * @return {@code Mensagem} - Resultado da remoção.
+     */
+    public Mensagem applyRemoval(int row, int col) {
+        Mensagem result = removal(row, col);
+        if (Metrics.ENABLED) {
+            Metrics.mensagem(result);
+        }
+        return result;
+    }
+
+    private Mensagem removal(int row, int col) {
+        if (isEmpty(row, col)) {
+            return Mensagem.PosicaoVazia;
+        }
+        if (isGiven(row, col)) {
+            return Mensagem.NumeroFixo;
+        }
+        play(row, col, EMPTY);
+        return Mensagem.RemocaoTrue;
+    }
+
+    /**
+     * Desfaz a última jogada do histórico.
+     *
+     * @return {@code boolean} - {@code false} se não havia jogada para desfazer.
+     */
+    public boolean undo() {
+        if (journalCursor == 0) {
+            return false;
         }
+        int entry = journal[--journalCursor];
+        apply(entry >>> 8, (entry >>> 4) & 0xF);
+        return true;
     }
 
+    /**
+     * Refaz a última jogada desfeita. Uma nova jogada descarta as jogadas que podiam ser refeitas.
+     *
+     * @return {@code boolean} - {@code false} se não havia jogada para refazer.
+     */
+    public boolean redo() {
+        if (journalCursor == journalSize) {
+            return false;
+        }
+        int entry = journal[journalCursor++];
+        apply(entry >>> 8, entry & 0xF);
+        return true;
+    }
+
+    /**
+     * Marca o ponto atual do histórico, sem copiar o tabuleiro.
+     *
+     * @return {@code long} - Marca a ser passada para {@link #rollback(long)}: a posição no histórico
+     * e o identificador da última jogada aplicada.
+     */
+    public long checkpoint() {
+        return (long) journalId(journalCursor) << 32 | journalCursor;
+    }
+
+    /**
+     * Volta ao ponto marcado por {@link #checkpoint()}, desfazendo as jogadas feitas depois dele
+     * (ou refazendo as desfeitas desde então). O custo é proporcional à quantidade de jogadas.
+     * <p>
+     * A marca deixa de valer quando o histórico até ela muda: uma jogada nova depois de
+     * {@link #undo()} que regrave a posição marcada ou uma anterior, {@link #zerarTabuleiro()}
+     * ou a carga de outro jogo. Nesse caso o tabuleiro não é alterado.
+     *
+     * @param checkpoint {@code long} - Marca obtida de {@link #checkpoint()}.
+     * @return {@code boolean} - {@code false} se a marca não vale mais para este histórico.
+     */
+    public boolean rollback(long checkpoint) {
+        int cursor = (int) checkpoint;
+        if (cursor < 0 || cursor > journalSize || journalId(cursor) != (int) (checkpoint >>> 32)) {
+            return false;
+        }
+        while (journalCursor > cursor) {
+            undo();
+        }
+        while (journalCursor < cursor) {
+            redo();
+        }
+        return true;
+    }
+
+    /** Identificador da entrada anterior à posição do histórico, ou do início dele. */
+    private int journalId(int cursor) {
+        return cursor == 0 ? journalBaseId : journalIds[cursor - 1];
+    }
+
+    /**
+     * Quantidade de jogadas aplicadas desde os números iniciais.
+     */
+    public int getMoveCount() {
+        return journalCursor;
+    }
+
+    /**
+     * Aplica uma jogada (valor de 1 a 9, ou {@code 0} para esvaziar a célula) e a registra no histórico.
+     * Não faz nenhuma validação.
+     *
+     * @param row   {@code int} - Índice da linha (0 a 8).
+     * @param col   {@code int} - Índice da coluna (0 a 8).
+     * @param digit {@code int} - Novo valor da célula.
+     */
+    void play(int row, int col, int digit) {
+        int index = row * 9 + col;
+        if (journalCursor == journal.length) {
+            journal = Arrays.copyOf(journal, journal.length * 2);
+            journalIds = Arrays.copyOf(journalIds, journal.length);
+        }
+        journalIds[journalCursor] = ++lastJournalId;
+        journal[journalCursor++] = index << 8 | cells[index] << 4 | digit;
+        journalSize = journalCursor;
+        apply(index, digit);
+    }
+
+    private void apply(int index, int digit) {
+        if (digit == EMPTY) {
+            clear(Topology.ROW[index], Topology.COL[index]);
+        } else {
+            place(Topology.ROW[index], Topology.COL[index], digit);
+        }
+    }
 
     /**
      * Valida se um número pode ser inserido em determinada posição do tabuleiro.
      * Assegura que o valor não viole regras de linha, coluna ou bloco.
      * @param row   {@code int} - Índice da linha a ser validada.
      * @param col   {@code int} - Índice da coluna a ser validada.
-     * @param value {@code String} - Valor numérico a ser testado.
+     * @param value {@code int} - Valor numérico (1 a 9) a ser testado.
      * @return {@code Mensagem} - Enum indicando se a inserção é válida ou qual regra foi violada.
      * Método privado utilizado por {@link #addNumber(int, int, String)}.
      */
-    private Mensagem validateNumber(int row, int col, String value) {
-        return Validator.isValid(board, col, value, row);
+    private Mensagem validateNumber(int row, int col, int value) {
+        return Validator.isValid(rules, this, col, value, row);
+    }
+
+    /**
+     * Grava o dígito na célula, substituindo o valor anterior se houver, e atualiza
+     * as máscaras, os contadores de repetição e o total de células preenchidas em O(1).
+     * Não faz nenhuma validação: conflitos são permitidos e contabilizados.
+     *
+     * @param row   {@code int} - Índice da linha (0 a 8).
+     * @param col   {@code int} - Índice da coluna (0 a 8).
+     * @param digit {@code int} - Dígito de 1 a 9.
+     */
+    void place(int row, int col, int digit) {
+        int index = row * 9 + col;
+        if (cells[index] != EMPTY) {
+            clear(row, col);
+        }
+        Rules rules = this.rules;
+        int bit = 1 << (digit - 1);
+        int block = rules.regionOf[index];
+        cells[index] = (byte) digit;
+        filled++;
+        increment(row, digit);
+        increment(9 + col, digit);
+        increment(18 + block, digit);
+        rowMask[row] |= bit;
+        colMask[col] |= bit;
+        blockMask[block] |= bit;
+        for (int k = rules.extraStart[index], end = rules.extraStart[index + 1]; k < end; k++) {
+            int unit = rules.extraUnits[k];
+            increment(Topology.UNIT_COUNT + unit, digit);
+            extraMask[unit] |= bit;
+        }
+
+        // Eliminação automática do rascunho nas vizinhas (20 no jogo clássico)
+        candidates[index] = 0;
+        int[] peers = rules.peers;
+        for (int k = rules.peerStart[index], end = rules.peerStart[index + 1]; k < end; k++) {
+            candidates[peers[k]] &= (short) ~bit;
+        }
+    }
+
+    /**
+     * Esvazia a célula, atualizando máscaras e contadores em O(1).
+     * O bit do dígito só sai da máscara quando não resta outra ocorrência na unidade.
+     *
+     * @param row {@code int} - Índice da linha (0 a 8).
+     * @param col {@code int} - Índice da coluna (0 a 8).
+     */
+    void clear(int row, int col) {
+        int index = row * 9 + col;
+        int digit = cells[index];
+        if (digit == EMPTY) {
+            return;
+        }
+        Rules rules = this.rules;
+        int bit = 1 << (digit - 1);
+        int block = rules.regionOf[index];
+        cells[index] = EMPTY;
+        filled--;
+        if (decrement(row, digit)) {
+            rowMask[row] &= ~bit;
+        }
+        if (decrement(9 + col, digit)) {
+            colMask[col] &= ~bit;
+        }
+        if (decrement(18 + block, digit)) {
+            blockMask[block] &= ~bit;
+        }
+        for (int k = rules.extraStart[index], end = rules.extraStart[index + 1]; k < end; k++) {
+            int unit = rules.extraUnits[k];
+            if (decrement(Topology.UNIT_COUNT + unit, digit)) {
+                extraMask[unit] &= ~bit;
+            }
+        }
+
+        // O dígito removido volta ao rascunho das vizinhas vazias onde deixou de estar bloqueado
+        candidates[index] = (short) (~unitMasks(index) & Validator.ALL_DIGITS);
+        int[] peers = rules.peers;
+        for (int k = rules.peerStart[index], end = rules.peerStart[index + 1]; k < end; k++) {
+            int peer = peers[k];
+            if (cells[peer] == EMPTY && (unitMasks(peer) & bit) == 0) {
+                candidates[peer] |= (short) bit;
+            }
+        }
+    }
+
+    private int unitMasks(int index) {
+        int mask = rowMask[Topology.ROW[index]] | colMask[Topology.COL[index]] | blockMask[rules.regionOf[index]];
+        for (int k = rules.extraStart[index], end = rules.extraStart[index + 1]; k < end; k++) {
+            mask |= extraMask[rules.extraUnits[k]];
+        }
+        return mask;
+    }
+
+    /**
+     * Candidatos atuais da célula em máscara de 9 bits (bit {@code d - 1} para o dígito {@code d}).
+     * Células preenchidas não têm candidatos.
+     *
+     * @param row {@code int} - Índice da linha (0 a 8).
+     * @param col {@code int} - Índice da coluna (0 a 8).
+     * @return {@code int} - Máscara de candidatos.
+     */
+    public int getCandidates(int row, int col) {
+        return candidates[row * 9 + col];
+    }
+
+    /**
+     * Marca ou desmarca um número de rascunho numa célula vazia. Só podem ser marcados números
+     * que ainda caberiam na célula: um número já presente na linha, coluna ou bloco é recusado.
+     *
+     * @param row   {@code int} - Índice da linha (0 a 8).
+     * @param col   {@code int} - Índice da coluna (0 a 8).
+     * @param digit {@code int} - Número de 1 a 9.
+     * @return {@code boolean} - {@code true} se o número ficou marcado.
+     * @throws ErroNum se o número for inválido ou, ao marcar, já estiver na linha, coluna ou bloco da célula.
+     */
+    public boolean toggleDraft(int row, int col, int digit) {
+        if (digit < 1 || digit > 9) {
+            throw new ErroNum("Valor inválido! Só são permitidos números de 1 a 9.");
+        }
+        int index = row * 9 + col;
+        if (cells[index] != EMPTY) {
+            return false;
+        }
+        int bit = 1 << (digit - 1);
+        if ((candidates[index] & bit) == 0) {
+            Mensagem validation = validateNumber(row, col, digit);
+            if (!validation.isValor()) {
+                throw new ErroNum(validation.getDescricao());
+            }
+        }
+        candidates[index] ^= (short) bit;
+        draftEdited = true;
+        return (candidates[index] & (1 << (digit - 1))) != 0;
+    }
+
+    /**
+     * Procura a próxima dedução lógica a partir dos candidatos mantidos a cada jogada,
+     * sem resolver o tabuleiro do zero: a busca só percorre as técnicas em ordem de
+     * dificuldade até a primeira que se aplica.
+     * <p>
+     * Os números de rascunho desmarcados pelo jogador contam como eliminados, então a dica
+     * parte do mesmo rascunho que o jogador vê, limitado aos números que ainda cabem na linha,
+     * coluna e bloco de cada célula. O objeto devolvido é reaproveitado pela próxima chamada.
+     *
+     * @return {@code Deducao} - Próxima jogada ou eliminação e a sua justificativa, ou {@code null}
+     * se o tabuleiro tiver erros, estiver completo, exigir tentativa e erro ou for de uma variante.
+     */
+    public Deducao hint() {
+        if (conflicts > 0 || filled == 81 || !rules.isStandard()) {
+            return null;
+        }
+        if (hint == null) {
+            hint = new Deducao();
+        }
+        short[] draft = candidates;
+        if (draftEdited) {
+            if (hintCandidates == null) {
+                hintCandidates = new short[81];
+            }
+            for (int index = 0; index < 81; index++) {
+                hintCandidates[index] = (short) (candidates[index] & ~unitMasks(index));
+            }
+            draft = hintCandidates;
+        }
+        return LogicalSolver.findDeduction(cells, draft, hint) ? hint : null;
+    }
+
+    /**
+     * Aplica uma dica obtida de {@link #hint()}: coloca o número com as mesmas validações de
+     * {@link #applyNumber(int, int, int)} (registrando no histórico) ou remove os candidatos
+     * eliminados do rascunho.
+     *
+     * @param deducao {@code Deducao} - Dica a aplicar.
+     * @return {@code Mensagem} - Resultado da jogada; {@link Mensagem#ValidationTrue} para eliminações.
+     */
+    public Mensagem applyHint(Deducao deducao) {
+        if (deducao.isPlacement()) {
+            return applyNumber(deducao.getRow(), deducao.getCol(), deducao.getDigit());
+        }
+        for (int i = 0; i < deducao.getEliminationCount(); i++) {
+            eliminate(deducao.getEliminationCell(i), deducao.getEliminationMask(i));
+        }
+        return Mensagem.ValidationTrue;
+    }
+
+    /**
+     * Elimina um candidato da célula, sem registrar no histórico.
+     * Usado pelas técnicas de dedução que removem candidatos.
+     */
+    void eliminate(int index, int bit) {
+        candidates[index] &= (short) ~bit;
+        draftEdited = true;
+    }
+
+    /** Marca com contagem 1 os dígitos da máscara na unidade; usado por {@link #restore}. */
+    private void countBits(int unit, int mask) {
+        while (mask != 0) {
+            unitCount[unit * 9 + Integer.numberOfTrailingZeros(mask)] = 1;
+            mask &= mask - 1;
+        }
+    }
+
+    /** Incrementa a contagem do dígito na unidade e retorna 1 se ele já estava lá (um conflito a mais). */
+    private int count(int unit, int digit) {
+        return unitCount[unit * 9 + digit - 1]++ > 0 ? 1 : 0;
+    }
+
+    private void increment(int unit, int digit) {
+        if (unitCount[unit * 9 + digit - 1]++ > 0) {
+            conflicts++;
+        }
+    }
+
+    /**
+     * @return {@code true} se o dígito deixou de aparecer na unidade.
+     */
+    private boolean decrement(int unit, int digit) {
+        int remaining = --unitCount[unit * 9 + digit - 1];
+        if (remaining > 0) {
+            conflicts--;
+        }
+        return remaining == 0;
+    }
+
+    /**
+     * Status atual do jogo, calculado em tempo constante a partir dos contadores.
+     *
+     * @return {@code StatusJogo} - Não iniciado (só números fixos), incompleto ou completo.
+     */
+    public StatusJogo getStatus() {
+        if (filled == givens) {
+            return StatusJogo.NAO_INICIADO;
+        }
+        return filled == 81 ? StatusJogo.COMPLETO : StatusJogo.INCOMPLETO;
+    }
+
+    /**
+     * Indica se há números em posições conflitantes (mesmo dígito repetido numa linha, coluna, bloco
+     * ou outra unidade das regras, como as regiões do jigsaw e as diagonais do Sudoku X).
+     * Um jogo não iniciado é sempre considerado sem erros.
+     */
+    public boolean hasErrors() {
+        return conflicts > 0 && getStatus() != StatusJogo.NAO_INICIADO;
+    }
+
+    /**
+     * Indica se a célula contém um dos números fixos do jogo.
+     */
+    public boolean isGiven(int row, int col) {
+        return defaultBoard[row * 9 + col] != EMPTY;
+    }
+
+    /**
+     * Retorna o dígito da célula indicada, ou {@code 0} se estiver vazia.
+     *
+     * @param row {@code int} - Índice da linha (0 a 8).
+     * @param col {@code int} - Índice da coluna (0 a 8).
+     * @return {@code int} - Dígito de 1 a 9, ou {@code 0} para célula vazia.
+     */
+    public int getNumber(int row, int col) {
+        return cells[row * 9 + col];
+    }
+
+    /**
+     * Indica se a célula indicada está vazia.
+     */
+    public boolean isEmpty(int row, int col) {
+        return cells[row * 9 + col] == EMPTY;
+    }
+
+    /**
+     * Acesso direto às 81 células, para uso do {@link Solver} e demais rotinas do pacote.
+     * O vetor não deve ser alterado fora desta classe.
+     */
+    byte[] cells() {
+        return cells;
+    }
+
+    /**
+     * Números iniciais do jogo, para o {@link BoardCodec}. O vetor não deve ser alterado fora desta classe.
+     */
+    byte[] defaultCells() {
+        return defaultBoard;
+    }
+
+    /**
+     * Rascunho atual de cada célula, para o {@link BoardCodec}. O vetor não deve ser alterado fora desta classe.
+     */
+    short[] candidateMasks() {
+        return candidates;
+    }
+
+    int[] journal() {
+        return journal;
+    }
+
+    int journalSize() {
+        return journalSize;
+    }
+
+    boolean needsRebuild() {
+        return rebuildNeeded;
+    }
+
+    boolean isDraftEdited() {
+        return draftEdited;
+    }
+
+    int rowMask(int row) {
+        return rowMask[row];
+    }
+
+    int colMask(int col) {
+        return colMask[col];
+    }
+
+    int blockMask(int block) {
+        return blockMask[block];
+    }
+
+    /**
+     * Índice (0 a 8) do bloco 3x3 que contém a célula, numerado por linhas, lido da {@link Topology}.
+     */
+    static int blockIndex(int row, int col) {
+        return Topology.BLOCK[row * 9 + col];
     }
 
     /**
      * Exibe o tabuleiro no console, formatado com divisores para facilitar
      * a visualização dos blocos 3x3 do estilo Sudoku.
+     * Cada célula é desenhada com 5 caracteres ({@code "  5  "} ou em branco).
      * @return void - Este método apenas imprime no console e não retorna valor.
      */
 
@@ -122,12 +871,13 @@ public class Board {
         for (int l = 0; l < 9; l++) {
 
             for (int c = 0; c < 9; c++) {
+                String cell = isEmpty(l, c) ? "     " : "  " + getNumber(l, c) + "  ";
                 if (c != 2 && c != 5 && c != 8){
-                    System.out.print(board[l][c]+"|");
+                    System.out.print(cell+"|");
                 } else if (c == 2 || c == 5) {
-                    System.out.print(board[l][c]+" || ");
+                    System.out.print(cell+" || ");
                 } else {
-                    System.out.print(board[l][c]);
+                    System.out.print(cell);
                 }
 
                 if (c == 8 && (l != 2 && l != 5 && l != 8)){
@@ -140,6 +890,40 @@ public class Board {
         System.out.println("\n\n");
     }
 
+    /**
+     * Exibe o rascunho no console: cada célula vazia vira uma grade 3x3 com os seus
+     * candidatos (ponto onde o número não é candidato), seguindo o modelo de rascunho
+     * do README. Células preenchidas mostram apenas o número, ao centro.
+     * @return void - Este método apenas imprime no console e não retorna valor.
+     */
+    public void printDraft() {
+        StringBuilder line = new StringBuilder(64);
+        for (int l = 0; l < 9; l++) {
+            for (int sub = 0; sub < 3; sub++) {
+                line.setLength(0);
+                for (int c = 0; c < 9; c++) {
+                    int index = l * 9 + c;
+                    for (int k = 0; k < 3; k++) {
+                        int digit = sub * 3 + k + 1;
+                        if (cells[index] != EMPTY) {
+                            line.append(sub == 1 && k == 1 ? (char) ('0' + cells[index]) : ' ');
+                        } else {
+                            line.append((candidates[index] & (1 << (digit - 1))) != 0 ? (char) ('0' + digit) : '.');
+                        }
+                    }
+                    line.append(c == 8 ? "" : (c == 2 || c == 5) ? " || " : " | ");
+                }
+                System.out.println(line);
+            }
+            if (l == 2 || l == 5) {
+                System.out.println("=====================================================");
+            } else if (l != 8) {
+                System.out.println("-----------------------------------------------------");
+            }
+        }
+        System.out.println("\n");
+    }
+
     /**
      * Mostra dicas e instruções para o jogador.
      */
@@ -154,6 +938,13 @@ public class Board {
                 - Digite 2 para reiniciar o jogo
                 - Digite 3 para relembrar as instruções
                 - Digite 4 para sair do jogo
+                - Digite 5 para remover um número que você colocou
+                - Digite 6 para ver o status do jogo (e se há erros)
+                - Digite 7 para desfazer a última jogada
+                - Digite 8 para refazer a jogada desfeita
+                - Digite 9 para ver o rascunho (candidatos de cada posição)
+                - Digite 10 para marcar ou desmarcar um número de rascunho
+                - Digite 11 para pedir uma dica
 
                 Para jogar, informe:
                 -> Linha (0 a 8)
@@ -166,33 +957,13 @@ public class Board {
     /**
      * Verifica se o tabuleiro está completamente correto,
      * ou seja, se o jogo foi finalizado com sucesso.
+     * No jogo clássico usa os contadores mantidos a cada jogada, sem percorrer o tabuleiro;
+     * numa variante, confere todas as regras com {@link Validator#isValidEndGame(Rules, Board)}.
      */
     public boolean isValidEndGame() {
-        return Validator.isValidEndGame(board);
-    }
-
-
-
-/*    public void popularBoardTeste() {
-        zerarTabuleiro();
-        Random numericalGenerator = new Random();
-        int row = 0;
-        while (row < 9) {
-            int col = 0;
-            while (col < 9) {
-                String randomValue = String.valueOf(numericalGenerator.nextInt(10));
-
-                Mensagem valid = Validator.isValid(board, col, randomValue, row);
-                if (board[row][col].isBlank() && valid.isValor()) {
-                    board[row][col] = "  " + randomValue + "  ";
-                    col++;
-                    printBoard();
-                }
-            }
-            row++;
+        if (filled < 81) {
+            return false;
         }
+        return rules.isStandard() ? conflicts == 0 : Validator.isValidEndGame(rules, this);
     }
-    public boolean testeFim() {
-        return Validator.isValidEndGame(board);
-    }*/
 }
@@ -0,0 +1,143 @@
+package tabuleiro;
+
+import java.io.IOException;
+
+/**
+ * Lote de tabuleiros de 9x9 guardado como estrutura de vetores: em vez de um {@code byte[81]}
+ * por tabuleiro, há um vetor por célula, e a célula {@code c} de todos os tabuleiros fica
+ * contígua em {@code cells[c]}. Cada posição guarda o dígito já como bit ({@code 1 << (d - 1)},
+ * 0 para vazio), em {@code int}. Assim a validação em lote ({@link Validator#validateBatch(BoardBatch)})
+ * é uma sequência de laços sobre vetores {@code int[]} sem deslocamento nem conversão de tipo,
+ * que o JIT vetoriza (com {@code byte}s ou com um único vetor e deslocamento por célula, o C2 do
+ * Java 17 não vetoriza o laço).
+ * <p>
+ * O lote é reaproveitado: {@link #fill(PuzzleReader)} o recarrega sem alocar. Cada tabuleiro
+ * tem um estado ({@link #CONFLITO}, {@link #INCOMPLETO}, ...) preenchido pela validação e
+ * atualizado pela resolução. Uma instância não é thread-safe.
+ */
+public final class BoardBatch {
+
+    /** Há número repetido numa linha, coluna ou bloco. */
+    public static final byte CONFLITO = 0;
+    /** Sem repetições, mas com células vazias. */
+    public static final byte INCOMPLETO = 1;
+    /** Todas as células preenchidas e corretas: {@link Validator#isValidEndGame(Board)} seria {@code true}. */
+    public static final byte COMPLETO = 2;
+    /** Era {@link #INCOMPLETO} e foi resolvido: as células agora guardam a solução. */
+    public static final byte RESOLVIDO = 3;
+    /** Era {@link #INCOMPLETO}, mas não tem solução. */
+    public static final byte SEM_SOLUCAO = 4;
+
+    private final int capacity;
+    final int[][] cells;
+    final byte[] status;
+    /** Vetores de trabalho da validação, um inteiro por tabuleiro. */
+    final int[] seen;
+    final int[] repeated;
+    final int[] missing;
+    /** Linha lida do arquivo antes de ser espalhada pelas colunas do lote. */
+    private final byte[] row = new byte[81];
+    private int count;
+    private long sequence;
+
+    /**
+     * @param capacity {@code int} - Quantidade máxima de tabuleiros no lote.
+     */
+    public BoardBatch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("O lote precisa de espaço para pelo menos um tabuleiro.");
+        }
+        this.capacity = capacity;
+        this.cells = new int[81][capacity];
+        this.status = new byte[capacity];
+        this.seen = new int[capacity];
+        this.repeated = new int[capacity];
+        this.missing = new int[capacity];
+    }
+
+    /**
+     * Esvazia o lote e o recarrega com os próximos tabuleiros do leitor.
+     *
+     * @param reader {@code PuzzleReader} - Origem dos tabuleiros.
+     * @return {@code int} - Quantidade lida; menor que a capacidade só no fim do arquivo.
+     * @throws IOException se a leitura falhar.
+     * @throws ErroNum se uma linha não tiver 81 células válidas.
+     */
+    public int fill(PuzzleReader reader) throws IOException {
+        count = 0;
+        while (count < capacity && reader.next(row)) {
+            set(count++, row);
+        }
+        return count;
+    }
+
+    /**
+     * Acrescenta um tabuleiro ao lote.
+     *
+     * @param puzzle {@code byte[]} - 81 células em ordem de linha (0 para vazio).
+     * @throws IllegalStateException se o lote estiver cheio.
+     */
+    public void add(byte[] puzzle) {
+        if (count == capacity) {
+            throw new IllegalStateException("Lote cheio (" + capacity + " tabuleiros).");
+        }
+        set(count++, puzzle);
+    }
+
+    /**
+     * Esvazia o lote, sem apagar as células.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Copia as células do tabuleiro {@code board} para {@code out}, em ordem de linha.
+     */
+    public void get(int board, byte[] out) {
+        for (int cell = 0; cell < 81; cell++) {
+            int bit = cells[cell][board];
+            out[cell] = (byte) (bit == 0 ? Board.EMPTY : Integer.numberOfTrailingZeros(bit) + 1);
+        }
+    }
+
+    /**
+     * Substitui as células do tabuleiro {@code board} pelas de {@code puzzle}, em ordem de linha.
+     */
+    public void set(int board, byte[] puzzle) {
+        for (int cell = 0; cell < 81; cell++) {
+            cells[cell][board] = (1 << puzzle[cell]) >>> 1;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Estado do tabuleiro {@code board}: {@link #CONFLITO}, {@link #INCOMPLETO}, {@link #COMPLETO},
+     * {@link #RESOLVIDO} ou {@link #SEM_SOLUCAO}.
+     */
+    public byte getStatus(int board) {
+        return status[board];
+    }
+
+    void setStatus(int board, byte value) {
+        status[board] = value;
+    }
+
+    /**
+     * Posição do lote na entrada, usada para devolver os lotes na ordem original.
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+}
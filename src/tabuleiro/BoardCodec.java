@@ -0,0 +1,332 @@
+package tabuleiro;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Formato binário compacto de um jogo salvo: números iniciais, números do jogador,
+ * rascunho e histórico de jogadas, lidos e gravados em {@link ByteBuffer}s.
+ * <p>
+ * Layout (inteiros em big-endian):
+ * <pre>
+ *   u16  MAGIC ('S', 'D')
+ *   u8   versão
+ *   u8   flags ({@link #FLAG_REBUILD}, {@link #FLAG_GIVEN_DIGITS}, {@link #FLAG_DRAFT})
+ *   41 B células atuais, 4 bits cada (a célula par no nibble alto)
+ *   11 B mapa de bits das células com números iniciais (bit {@code i % 8} do byte {@code i / 8})
+ *   41 B números iniciais, 4 bits cada             - só com FLAG_GIVEN_DIGITS
+ *   u16  rascunho de cada célula vazia, em ordem  - só com FLAG_DRAFT
+ *   var  tamanho do histórico e posição atual (inteiros de tamanho variável, 7 bits por byte)
+ *   u16  cada jogada: célula (7 bits), valor anterior (4 bits) e novo valor (4 bits)
+ * </pre>
+ * No caso comum (números iniciais intactos e rascunho automático) um jogo ocupa
+ * 56 bytes mais 2 por jogada do histórico. As flags só aparecem quando o jogador marcou o
+ * rascunho à mão (o {@link Board} registra isso, então a gravação não precisa comparar o rascunho
+ * célula a célula) ou depois de {@link Board#zerarTabuleiro()}.
+ * <p>
+ * A carga não reaplica as jogadas: o tabuleiro é restaurado numa passada pelas células.
+ */
+public final class BoardCodec {
+
+    private static final short MAGIC = 0x5344;
+    private static final byte VERSION = 1;
+
+    /** As células atuais não são "números iniciais + histórico" e o reinício reconstrói o tabuleiro. */
+    static final int FLAG_REBUILD = 1;
+    /** Os números iniciais vêm num bloco próprio, porque não estão todos nas células atuais. */
+    static final int FLAG_GIVEN_DIGITS = 2;
+    /** O rascunho foi alterado à mão e vem gravado célula a célula. */
+    static final int FLAG_DRAFT = 4;
+
+    private static final int NIBBLES = 41;
+    private static final int BITMAP = 11;
+
+    /**
+     * Vetores de trabalho por thread: a parte fixa do formato passa por um {@code byte[]} com
+     * {@code get}/{@code put} em bloco, e a carga não aloca nada além do que o {@link Board} já tem.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private static final class Scratch {
+        final byte[] bytes = new byte[4 + 2 * NIBBLES + BITMAP];
+        final byte[] cells = new byte[81];
+        final byte[] givens = new byte[81];
+        final short[] drafts = new short[81];
+        private int[] moves = new int[64];
+
+        int[] moves(int size) {
+            if (moves.length < size) {
+                moves = new int[Integer.highestOneBit(size - 1) << 1];
+            }
+            return moves;
+        }
+    }
+
+    private BoardCodec() {
+    }
+
+    /**
+     * Quantidade de bytes que {@link #encode(Board, ByteBuffer)} vai gravar.
+     */
+    public static int encodedSize(Board board) {
+        int flags = flags(board);
+        int size = 4 + NIBBLES + BITMAP;
+        if ((flags & FLAG_GIVEN_DIGITS) != 0) {
+            size += NIBBLES;
+        }
+        if ((flags & FLAG_DRAFT) != 0) {
+            size += 2 * (81 - filledCells(board));
+        }
+        return size + varIntSize(board.journalSize()) + varIntSize(board.getMoveCount()) + 2 * board.journalSize();
+    }
+
+    /**
+     * Grava o jogo a partir da posição atual do buffer.
+     *
+     * @param board  {@code Board} - Jogo a ser gravado (não é alterado).
+     * @param buffer {@code ByteBuffer} - Destino, com pelo menos {@link #encodedSize(Board)} bytes livres.
+     * @throws java.nio.BufferOverflowException se o buffer não tiver espaço.
+     */
+    public static void encode(Board board, ByteBuffer buffer) {
+        byte[] cells = board.cells();
+        byte[] givens = board.defaultCells();
+        int flags = flags(board);
+        byte[] out = SCRATCH.get().bytes;
+
+        out[0] = (byte) (MAGIC >>> 8);
+        out[1] = (byte) MAGIC;
+        out[2] = VERSION;
+        out[3] = (byte) flags;
+        int position = putNibbles(out, 4, cells);
+        for (int i = 0; i < 81; i += 8) {
+            int bits = 0;
+            for (int k = 0; k < 8 && i + k < 81; k++) {
+                if (givens[i + k] != Board.EMPTY) {
+                    bits |= 1 << k;
+                }
+            }
+            out[position++] = (byte) bits;
+        }
+        if ((flags & FLAG_GIVEN_DIGITS) != 0) {
+            position = putNibbles(out, position, givens);
+        }
+        buffer.put(out, 0, position);
+        if ((flags & FLAG_DRAFT) != 0) {
+            short[] drafts = board.candidateMasks();
+            for (int index = 0; index < 81; index++) {
+                if (cells[index] == Board.EMPTY) {
+                    buffer.putShort(drafts[index]);
+                }
+            }
+        }
+
+        int[] journal = board.journal();
+        int size = board.journalSize();
+        putVarInt(buffer, size);
+        putVarInt(buffer, board.getMoveCount());
+        for (int i = 0; i < size; i++) {
+            buffer.putShort((short) journal[i]);
+        }
+    }
+
+    /**
+     * Lê um jogo a partir da posição atual do buffer e o carrega no tabuleiro,
+     * substituindo o jogo anterior.
+     *
+     * @param buffer {@code ByteBuffer} - Origem, posicionada no início do jogo salvo.
+     * @param board  {@code Board} - Tabuleiro que recebe o jogo.
+     * @throws ErroNum se os bytes não forem um jogo salvo válido (o tabuleiro não é alterado).
+     */
+    public static void decode(ByteBuffer buffer, Board board) {
+        try {
+            if (buffer.getShort() != MAGIC) {
+                throw invalid("assinatura desconhecida");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw invalid("versão " + version + " não suportada");
+            }
+            int flags = buffer.get();
+
+            Scratch scratch = SCRATCH.get();
+            byte[] in = scratch.bytes;
+            byte[] cells = scratch.cells;
+            byte[] givens = scratch.givens;
+            int fixed = (flags & FLAG_GIVEN_DIGITS) != 0 ? 2 * NIBBLES + BITMAP : NIBBLES + BITMAP;
+            buffer.get(in, 0, fixed);
+            getNibbles(in, 0, cells);
+            for (int i = 0, position = NIBBLES; i < 81; i += 8, position++) {
+                int bits = in[position];
+                for (int k = 0; k < 8 && i + k < 81; k++) {
+                    givens[i + k] = (byte) ((bits >>> k) & 1); // marcado; o dígito vem das células ou do bloco próprio
+                }
+            }
+            if ((flags & FLAG_GIVEN_DIGITS) != 0) {
+                getNibbles(in, NIBBLES + BITMAP, givens);
+            } else {
+                for (int index = 0; index < 81; index++) {
+                    if (givens[index] != Board.EMPTY) {
+                        if (cells[index] == Board.EMPTY) {
+                            throw invalid("número inicial ausente na célula " + index);
+                        }
+                        givens[index] = cells[index];
+                    }
+                }
+            }
+            short[] drafts = null;
+            if ((flags & FLAG_DRAFT) != 0) {
+                drafts = scratch.drafts;
+                for (int index = 0; index < 81; index++) {
+                    drafts[index] = cells[index] == Board.EMPTY
+                            ? (short) (buffer.getShort() & Validator.ALL_DIGITS) : 0;
+                }
+            }
+
+            int size = getVarInt(buffer);
+            int cursor = getVarInt(buffer);
+            if (size < 0 || cursor < 0 || cursor > size || size > buffer.remaining() / 2) {
+                throw invalid("histórico corrompido");
+            }
+            int[] moves = scratch.moves(size);
+            for (int i = 0; i < size; i++) {
+                int entry = buffer.getShort() & 0xFFFF;
+                if ((entry >>> 8) >= 81 || ((entry >>> 4) & 0xF) > 9 || (entry & 0xF) > 9) {
+                    throw invalid("jogada corrompida no histórico");
+                }
+                moves[i] = entry;
+            }
+            board.restore(givens, cells, drafts, moves, size, cursor, (flags & FLAG_REBUILD) != 0);
+        } catch (BufferUnderflowException e) {
+            throw invalid("dados incompletos");
+        }
+    }
+
+    /**
+     * Grava o jogo num arquivo, criando-o ou sobrescrevendo-o.
+     *
+     * @param board {@code Board} - Jogo a ser gravado.
+     * @param path  {@code Path} - Arquivo de destino.
+     * @throws IOException se a gravação falhar.
+     */
+    public static void save(Board board, Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(board));
+        encode(board, buffer);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Carrega no tabuleiro um jogo gravado por {@link #save(Board, Path)}.
+     *
+     * @param path  {@code Path} - Arquivo do jogo salvo.
+     * @param board {@code Board} - Tabuleiro que recebe o jogo.
+     * @throws IOException se a leitura falhar.
+     * @throws ErroNum se o arquivo não for um jogo salvo válido.
+     */
+    public static void load(Path path, Board board) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw invalid("arquivo grande demais");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // lê até encher ou chegar ao fim do arquivo
+            }
+            buffer.flip();
+            decode(buffer, board);
+        }
+    }
+
+    private static int flags(Board board) {
+        byte[] cells = board.cells();
+        byte[] givens = board.defaultCells();
+        int flags = board.needsRebuild() ? FLAG_REBUILD : 0;
+        if (board.isDraftEdited()) {
+            flags |= FLAG_DRAFT;
+        }
+        for (int index = 0; index < 81; index++) {
+            if (givens[index] != Board.EMPTY && cells[index] != givens[index]) {
+                return flags | FLAG_GIVEN_DIGITS;
+            }
+        }
+        return flags;
+    }
+
+    private static int filledCells(Board board) {
+        int filled = 0;
+        for (byte cell : board.cells()) {
+            if (cell != Board.EMPTY) {
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    /**
+     * Grava as 81 células em 41 bytes, 4 bits cada (a célula par no nibble alto). Também usado pelo {@link PuzzleStore}.
+     */
+    static int putNibbles(byte[] out, int position, byte[] cells) {
+        for (int index = 0; index < 80; index += 2) {
+            out[position++] = (byte) (cells[index] << 4 | cells[index + 1]);
+        }
+        out[position++] = (byte) (cells[80] << 4);
+        return position;
+    }
+
+    static void getNibbles(byte[] in, int position, byte[] cells) {
+        for (int index = 0; index < 81; index += 2) {
+            int pair = in[position++] & 0xFF;
+            int high = pair >>> 4;
+            int low = pair & 0xF;
+            if (high > 9 || low > 9) {
+                throw invalid("célula com valor fora de 0 a 9");
+            }
+            cells[index] = (byte) high;
+            if (index + 1 < 81) {
+                cells[index + 1] = (byte) low;
+            }
+        }
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw invalid("inteiro de tamanho variável corrompido");
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static ErroNum invalid(String reason) {
+        return new ErroNum("Jogo salvo inválido: " + reason + ".");
+    }
+}
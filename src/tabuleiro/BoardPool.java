@@ -0,0 +1,100 @@
+package tabuleiro;
+
+/**
+ * Conjunto de tabuleiros reaproveitáveis, para quem cria e descarta muitos jogos (sessões do
+ * servidor, laços de geração): {@link #acquire()} entrega um tabuleiro vazio, de preferência um
+ * já devolvido, e {@link #release(Board)} o limpa no lugar ({@link Board#reset()}) e o guarda
+ * para o próximo pedido. Em regime, criar e descartar um jogo não aloca nada.
+ * <p>
+ * O conjunto guarda no máximo {@code capacity} tabuleiros livres; os devolvidos além disso
+ * ficam para o coletor de lixo. É thread-safe: um tabuleiro pode ser pego numa thread e
+ * devolvido em outra, desde que ninguém mais o use depois de devolvido.
+ */
+public final class BoardPool {
+
+    private final Board[] free;
+    private int size;
+    private long created;
+    private long reused;
+
+    /**
+     * @param capacity {@code int} - Quantidade máxima de tabuleiros livres guardados.
+     */
+    public BoardPool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("O conjunto precisa guardar pelo menos um tabuleiro.");
+        }
+        this.free = new Board[capacity];
+    }
+
+    /**
+     * Entrega um tabuleiro vazio, no estado de um {@code new Board()}.
+     *
+     * @return {@code Board} - Um tabuleiro livre do conjunto ou, se não houver, um novo.
+     */
+    public Board acquire() {
+        synchronized (this) {
+            if (size > 0) {
+                Board board = free[--size];
+                free[size] = null;
+                reused++;
+                return board;
+            }
+            created++;
+        }
+        return new Board();
+    }
+
+    /**
+     * Entrega um tabuleiro já com um jogo novo, como {@link Board#startingGame(long, Dificuldade)}.
+     *
+     * @param seed        {@code long} - Semente do gerador.
+     * @param dificuldade {@code Dificuldade} - Nível que define a quantidade de números iniciais.
+     * @return {@code Board} - Tabuleiro com o jogo gerado.
+     */
+    public Board acquire(long seed, Dificuldade dificuldade) {
+        Board board = acquire();
+        board.startingGame(seed, dificuldade);
+        return board;
+    }
+
+    /**
+     * Devolve um tabuleiro ao conjunto. O tabuleiro é limpo aqui e não pode mais ser usado por quem o devolveu.
+     *
+     * @param board {@code Board} - Tabuleiro obtido de {@link #acquire()}.
+     */
+    public void release(Board board) {
+        board.reset();
+        synchronized (this) {
+            if (size < free.length) {
+                free[size++] = board;
+            }
+        }
+    }
+
+    /**
+     * Quantidade de tabuleiros livres no momento.
+     */
+    public synchronized int getAvailable() {
+        return size;
+    }
+
+    /**
+     * Quantidade de tabuleiros criados porque não havia nenhum livre.
+     */
+    public synchronized long getCreated() {
+        return created;
+    }
+
+    /**
+     * Quantidade de pedidos atendidos com um tabuleiro devolvido.
+     */
+    public synchronized long getReused() {
+        return reused;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("tabuleiros: %d criados, %d reaproveitados, %d livres", created, reused, size);
+    }
+}
@@ -0,0 +1,86 @@
+package tabuleiro;
+
+/**
+ * Forma canônica de um tabuleiro e a transformação que leva o tabuleiro original até ela.
+ * <p>
+ * Dois tabuleiros que diferem apenas por troca de dígitos, permutação de linhas dentro das
+ * faixas, de colunas dentro das pilhas, troca de faixas ou pilhas e transposição têm a mesma
+ * forma canônica e a mesma impressão digital de 128 bits. A transformação guardada permite
+ * levar uma solução da orientação canônica de volta para a orientação do tabuleiro original.
+ * <p>
+ * O objeto é preenchido pelo {@link Canonicalizer} e pode ser reaproveitado.
+ */
+public class CanonicalForm {
+
+    final byte[] cells = new byte[81];
+    /** Se o tabuleiro original foi transposto antes das permutações. */
+    boolean transposed;
+    /** Linha (do tabuleiro original, já transposto se for o caso) usada em cada linha canônica. */
+    final int[] rowOrder = new int[9];
+    /** Coluna de origem usada em cada coluna canônica. */
+    final int[] colOrder = new int[9];
+    /** Dígito original (índice) para rótulo canônico; a posição 0 fica sempre 0. */
+    final byte[] toCanonical = new byte[10];
+    /** Rótulo canônico (índice) para dígito original. */
+    final byte[] fromCanonical = new byte[10];
+    long high;
+    long low;
+
+    /**
+     * Parte alta da impressão digital de 128 bits.
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Parte baixa da impressão digital de 128 bits.
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Célula da forma canônica (0 para vazio).
+     */
+    public int getCell(int row, int col) {
+        return cells[row * 9 + col];
+    }
+
+    /**
+     * Leva uma grade da orientação original para a canônica (mesma transformação do tabuleiro).
+     *
+     * @param grid {@code byte[]} - 81 células na orientação original.
+     * @param out  {@code byte[]} - Recebe as 81 células na orientação canônica.
+     */
+    public void toCanonical(byte[] grid, byte[] out) {
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                out[r * 9 + c] = toCanonical[grid[sourceIndex(r, c)]];
+            }
+        }
+    }
+
+    /**
+     * Leva uma grade da orientação canônica de volta para a original (inversa de {@link #toCanonical}).
+     *
+     * @param canonical {@code byte[]} - 81 células na orientação canônica.
+     * @param out       {@code byte[]} - Recebe as 81 células na orientação original.
+     */
+    public void fromCanonical(byte[] canonical, byte[] out) {
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                out[sourceIndex(r, c)] = fromCanonical[canonical[r * 9 + c]];
+            }
+        }
+    }
+
+    /**
+     * Índice, no tabuleiro original, da célula que vai para a posição canônica {@code (r, c)}.
+     */
+    private int sourceIndex(int r, int c) {
+        int row = rowOrder[r];
+        int col = colOrder[c];
+        return transposed ? col * 9 + row : row * 9 + col;
+    }
+}
@@ -0,0 +1,354 @@
+package tabuleiro;
+
+import java.util.Arrays;
+
+/**
+ * Calcula a {@link CanonicalForm} de um tabuleiro: a menor grade, em ordem lexicográfica
+ * (vazio antes dos dígitos), entre todas as equivalentes por transposição, permutações de
+ * faixas, linhas, pilhas e colunas, com os dígitos renumerados por ordem de aparição.
+ * <p>
+ * A busca monta a grade canônica linha a linha: para cada linha só sobrevivem as
+ * transformações parciais que produzem a menor linha possível, o que descarta quase
+ * todas as alternativas já nas primeiras linhas. Tabuleiros muito simétricos (como o
+ * vazio) podem manter empatadas mais transformações que o limite de {@value #MAX_STATES};
+ * nesse caso {@link #canonicalize} devolve {@code false} e o tabuleiro simplesmente não
+ * é deduplicado, nunca confundido com outro.
+ * <p>
+ * Uma instância reaproveita os seus vetores e não é thread-safe.
+ */
+public class Canonicalizer {
+
+    /** Máximo de transformações parciais empatadas mantidas por linha. */
+    static final int MAX_STATES = 1 << 15;
+
+    /** As 1296 ordens de colunas válidas: 6 ordens de pilhas vezes 6 ordens dentro de cada pilha. */
+    private static final byte[][] COLUMN_ORDERS = new byte[1296][9];
+    private static final int[][] PERMUTATIONS_OF_3 = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    static {
+        int n = 0;
+        for (int[] stacks : PERMUTATIONS_OF_3) {
+            for (int[] first : PERMUTATIONS_OF_3) {
+                for (int[] second : PERMUTATIONS_OF_3) {
+                    for (int[] third : PERMUTATIONS_OF_3) {
+                        int[][] inner = {first, second, third};
+                        for (int k = 0; k < 9; k++) {
+                            COLUMN_ORDERS[n][k] = (byte) (stacks[k / 3] * 3 + inner[k / 3][k % 3]);
+                        }
+                        n++;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Tabuleiro original ([0]) e transposto ([1]). */
+    private final byte[][] grids = new byte[2][81];
+
+    // Transformações parciais empatadas: a atual e a da próxima linha
+    private int[] meta = new int[MAX_STATES];
+    private long[] maps = new long[MAX_STATES];
+    private long[] rows = new long[MAX_STATES];
+    private int[] nextMeta = new int[MAX_STATES];
+    private long[] nextMaps = new long[MAX_STATES];
+    private long[] nextRows = new long[MAX_STATES];
+
+    private final byte[] best = new byte[9];
+    private final byte[] candidate = new byte[9];
+
+    /**
+     * Calcula a forma canônica do tabuleiro.
+     *
+     * @param puzzle {@code byte[]} - 81 células (0 para vazio); não é alterado.
+     * @param out    {@code CanonicalForm} - Recebe a forma canônica, a transformação e a impressão digital.
+     * @return {@code boolean} - {@code false} se o tabuleiro for simétrico demais para o limite de busca.
+     */
+    public boolean canonicalize(byte[] puzzle, CanonicalForm out) {
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                grids[0][r * 9 + c] = puzzle[r * 9 + c];
+                grids[1][c * 9 + r] = puzzle[r * 9 + c];
+            }
+        }
+
+        int count = seedFirstRow();
+        if (count < 0) {
+            return false;
+        }
+        for (int r = 1; r < 9; r++) {
+            count = extend(r, count);
+            if (count < 0) {
+                return false;
+            }
+            int[] swapMeta = meta;
+            meta = nextMeta;
+            nextMeta = swapMeta;
+            long[] swapMaps = maps;
+            maps = nextMaps;
+            nextMaps = swapMaps;
+            long[] swapRows = rows;
+            rows = nextRows;
+            nextRows = swapRows;
+        }
+        fill(out);
+        return true;
+    }
+
+    /**
+     * Monta os estados da primeira linha canônica. Como os dígitos são renumerados por ordem
+     * de aparição, a primeira linha é sempre vazias seguidas de 1, 2, 3...; só importa onde
+     * ficam as vazias. A menor linha sai das linhas com menos pistas por pilha, com as pilhas
+     * em ordem crescente de pistas e as vazias à esquerda em cada pilha, então as ordens de
+     * colunas que a produzem são enumeradas diretamente, sem testar as 1296.
+     *
+     * @return {@code int} - Quantidade de estados, ou {@code -1} se passar do limite.
+     */
+    private int seedFirstRow() {
+        int bestKey = Integer.MAX_VALUE;
+        for (int t = 0; t < 2; t++) {
+            for (int row = 0; row < 9; row++) {
+                bestKey = Math.min(bestKey, firstRowKey(grids[t], row));
+            }
+        }
+
+        int count = 0;
+        for (int t = 0; t < 2; t++) {
+            byte[] grid = grids[t];
+            for (int row = 0; row < 9; row++) {
+                if (firstRowKey(grid, row) != bestKey) {
+                    continue;
+                }
+                for (int s = 0; s < 6; s++) {
+                    int[] stacks = PERMUTATIONS_OF_3[s];
+                    if (clues(grid, row, stacks[0]) > clues(grid, row, stacks[1])
+                            || clues(grid, row, stacks[1]) > clues(grid, row, stacks[2])) {
+                        continue;
+                    }
+                    for (int a = 0; a < 6; a++) {
+                        if (!emptiesFirst(grid, row, stacks[0], PERMUTATIONS_OF_3[a])) {
+                            continue;
+                        }
+                        for (int b = 0; b < 6; b++) {
+                            if (!emptiesFirst(grid, row, stacks[1], PERMUTATIONS_OF_3[b])) {
+                                continue;
+                            }
+                            for (int c = 0; c < 6; c++) {
+                                if (!emptiesFirst(grid, row, stacks[2], PERMUTATIONS_OF_3[c])) {
+                                    continue;
+                                }
+                                if (count == MAX_STATES) {
+                                    return -1;
+                                }
+                                int order = ((s * 6 + a) * 6 + b) * 6 + c;
+                                long map = 0;
+                                int label = 1;
+                                for (int k = 0; k < 9; k++) {
+                                    int digit = grid[row * 9 + COLUMN_ORDERS[order][k]];
+                                    if (digit != 0) {
+                                        map |= (long) label++ << (digit * 4);
+                                    }
+                                }
+                                meta[count] = packMeta(t, order, 1 << row, label);
+                                maps[count] = map;
+                                rows[count] = row;
+                                count++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Padrão de células preenchidas da menor linha que {@code row} pode gerar como primeira linha,
+     * lido como número de 9 bits com a primeira coluna no bit mais alto: o menor número é a menor linha.
+     */
+    private static int firstRowKey(byte[] grid, int row) {
+        int a = clues(grid, row, 0);
+        int b = clues(grid, row, 1);
+        int c = clues(grid, row, 2);
+        int low = Math.min(a, Math.min(b, c));
+        int high = Math.max(a, Math.max(b, c));
+        int middle = a + b + c - low - high;
+        return ((1 << low) - 1) << 6 | ((1 << middle) - 1) << 3 | ((1 << high) - 1);
+    }
+
+    private static int clues(byte[] grid, int row, int stack) {
+        int base = row * 9 + stack * 3;
+        return (grid[base] != 0 ? 1 : 0) + (grid[base + 1] != 0 ? 1 : 0) + (grid[base + 2] != 0 ? 1 : 0);
+    }
+
+    /** Se a ordem {@code perm} deixa as células vazias da pilha antes das preenchidas. */
+    private static boolean emptiesFirst(byte[] grid, int row, int stack, int[] perm) {
+        int base = row * 9 + stack * 3;
+        boolean filled = false;
+        for (int k = 0; k < 3; k++) {
+            if (grid[base + perm[k]] != 0) {
+                filled = true;
+            } else if (filled) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gera a linha {@code r} para cada estado e mantém só os que produzem a menor linha.
+     *
+     * @return {@code int} - Quantidade de estados sobreviventes, ou {@code -1} se passar do limite.
+     */
+    private int extend(int r, int count) {
+        int next = 0;
+        Arrays.fill(best, Byte.MAX_VALUE);
+        for (int i = 0; i < count; i++) {
+            int state = meta[i];
+            int used = usedRows(state);
+            int firstRow;
+            int lastRow;
+            if (r % 3 == 0) {
+                // Início de faixa: qualquer linha de uma faixa ainda não usada
+                firstRow = 0;
+                lastRow = 8;
+            } else {
+                // Dentro da faixa: as linhas restantes da mesma faixa de origem
+                int previous = (int) ((rows[i] >>> ((r - 1) * 4)) & 0xF);
+                firstRow = (previous / 3) * 3;
+                lastRow = firstRow + 2;
+            }
+            for (int source = firstRow; source <= lastRow; source++) {
+                if ((used & (1 << source)) != 0) {
+                    continue;
+                }
+                if (r % 3 == 0 && (used & (7 << ((source / 3) * 3))) != 0) {
+                    continue;
+                }
+                long map = maps[i];
+                int label = nextLabel(state);
+                int cmp = 0;
+                byte[] grid = grids[transposed(state)];
+                byte[] order = COLUMN_ORDERS[columnOrder(state)];
+                for (int c = 0; c < 9; c++) {
+                    int digit = grid[source * 9 + order[c]];
+                    int value;
+                    if (digit == 0) {
+                        value = 0;
+                    } else {
+                        value = (int) ((map >>> (digit * 4)) & 0xF);
+                        if (value == 0) {
+                            value = label++;
+                            map |= (long) value << (digit * 4);
+                        }
+                    }
+                    candidate[c] = (byte) value;
+                    if (cmp == 0) {
+                        cmp = Integer.compare(value, best[c]);
+                        if (cmp > 0) {
+                            break;
+                        }
+                    }
+                }
+                if (cmp > 0) {
+                    continue;
+                }
+                if (cmp < 0) {
+                    System.arraycopy(candidate, 0, best, 0, 9);
+                    next = 0;
+                }
+                if (next == MAX_STATES) {
+                    return -1;
+                }
+                nextMeta[next] = packMeta(transposed(state), columnOrder(state), used | (1 << source), label);
+                nextMaps[next] = map;
+                nextRows[next] = rows[i] | ((long) source << (r * 4));
+                next++;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Copia o primeiro estado sobrevivente (todos produzem a mesma grade) para o resultado.
+     */
+    private void fill(CanonicalForm out) {
+        int state = meta[0];
+        long map = maps[0];
+        out.transposed = transposed(state) == 1;
+        byte[] order = COLUMN_ORDERS[columnOrder(state)];
+        for (int k = 0; k < 9; k++) {
+            out.rowOrder[k] = (int) ((rows[0] >>> (k * 4)) & 0xF);
+            out.colOrder[k] = order[k];
+        }
+
+        // Dígitos ausentes no tabuleiro recebem os rótulos restantes em ordem crescente
+        int label = nextLabel(state);
+        out.toCanonical[0] = 0;
+        out.fromCanonical[0] = 0;
+        for (int digit = 1; digit <= 9; digit++) {
+            int value = (int) ((map >>> (digit * 4)) & 0xF);
+            if (value == 0) {
+                value = label++;
+            }
+            out.toCanonical[digit] = (byte) value;
+            out.fromCanonical[value] = (byte) digit;
+        }
+
+        byte[] grid = grids[transposed(state)];
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                out.cells[r * 9 + c] = out.toCanonical[grid[out.rowOrder[r] * 9 + out.colOrder[c]]];
+            }
+        }
+        fingerprint(out);
+    }
+
+    /**
+     * Impressão digital de 128 bits: as 81 células em 4 bits cada, misturadas por dois
+     * finalizadores independentes do SplitMix64.
+     */
+    private static void fingerprint(CanonicalForm out) {
+        long high = 0x243F6A8885A308D3L;
+        long low = 0x13198A2E03707344L;
+        long word = 0;
+        for (int index = 0; index < 81; index++) {
+            word = (word << 4) | out.cells[index];
+            if (index % 16 == 15 || index == 80) {
+                high = mix(high ^ word);
+                low = mix(low + word * 0x9E3779B97F4A7C15L);
+                word = 0;
+            }
+        }
+        out.high = high;
+        out.low = low;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // meta: bit 0 transposição, bits 1-11 ordem de colunas, bits 12-20 linhas usadas, bits 21-24 próximo rótulo
+
+    private static int packMeta(int transposed, int columnOrder, int usedRows, int nextLabel) {
+        return transposed | columnOrder << 1 | usedRows << 12 | nextLabel << 21;
+    }
+
+    private static int transposed(int meta) {
+        return meta & 1;
+    }
+
+    private static int columnOrder(int meta) {
+        return (meta >>> 1) & 0x7FF;
+    }
+
+    private static int usedRows(int meta) {
+        return (meta >>> 12) & 0x1FF;
+    }
+
+    private static int nextLabel(int meta) {
+        return (meta >>> 21) & 0xF;
+    }
+}
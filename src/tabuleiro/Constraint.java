@@ -0,0 +1,53 @@
+package tabuleiro;
+
+/**
+ * Regra extra de uma variante do Sudoku 9x9, somada às linhas, colunas e regiões de {@link Rules}:
+ * diagonais sem repetição ({@link UniqueRegion}), gaiolas com soma ({@link KillerCage}) ou qualquer
+ * outra regra que dependa só das células do tabuleiro.
+ * <p>
+ * A regra é consultada célula a célula: {@link #allowed(byte[], int)} diz quais dígitos ela ainda
+ * permite numa célula, a partir das demais. É isso que o {@link Validator} usa para validar uma
+ * jogada, o {@link VariantSolver} para podar candidatos e o {@link VariantGenerator} para montar
+ * grades que cumprem a regra. As implementações devem ser imutáveis, porque as mesmas
+ * {@link Rules} são compartilhadas entre threads.
+ */
+public interface Constraint {
+
+    /**
+     * Células (índices de 0 a 80, em ordem de linha) às quais a regra se aplica.
+     * O vetor não deve ser alterado.
+     */
+    int[] cells();
+
+    /**
+     * Dígitos que a regra permite na célula {@code index}, ignorando o que houver nela e
+     * considerando as demais células da regra.
+     *
+     * @param grid  {@code byte[]} - As 81 células do tabuleiro (0 para vazio).
+     * @param index {@code int} - Uma das células de {@link #cells()}.
+     * @return {@code int} - Máscara de dígitos ({@code 1 << (d - 1)}) permitidos.
+     */
+    int allowed(byte[] grid, int index);
+
+    /**
+     * Verifica se a regra é cumprida num tabuleiro com todas as células da regra preenchidas.
+     *
+     * @param grid {@code byte[]} - As 81 células do tabuleiro.
+     * @return {@code boolean} - {@code true} se a regra for cumprida.
+     */
+    boolean isSatisfied(byte[] grid);
+
+    /**
+     * Mensagem devolvida por {@link Validator#isValid(Rules, Board, int, int, int)} quando esta regra
+     * não permite o número.
+     */
+    Mensagem violation();
+
+    /**
+     * Se as células formam uma unidade que contém os 9 dígitos, como uma linha. O
+     * {@link VariantSolver} também procura dígitos únicos nessas unidades.
+     */
+    default boolean isUnit() {
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package tabuleiro;
+
+/**
+ * Uma dedução lógica: colocar um número numa célula ou eliminar candidatos de algumas células,
+ * junto com a técnica e a unidade (linha, coluna ou bloco) que a justificam.
+ * <p>
+ * O objeto é reaproveitado pelo {@link LogicalSolver} a cada passo para não alocar memória;
+ * quem precisar guardar a dedução deve copiar os valores.
+ */
+public class Deducao {
+
+    private Tecnica tecnica;
+    private int cell = -1;
+    private int digit;
+    private int unit;
+    private final int[] eliminationCells = new int[81];
+    private final int[] eliminationMasks = new int[81];
+    private int eliminations;
+
+    void reset(Tecnica tecnica, int unit) {
+        this.tecnica = tecnica;
+        this.unit = unit;
+        this.cell = -1;
+        this.digit = 0;
+        this.eliminations = 0;
+    }
+
+    void setPlacement(int cell, int digit) {
+        this.cell = cell;
+        this.digit = digit;
+    }
+
+    void addElimination(int cell, int mask) {
+        eliminationCells[eliminations] = cell;
+        eliminationMasks[eliminations] = mask;
+        eliminations++;
+    }
+
+    public Tecnica getTecnica() {
+        return tecnica;
+    }
+
+    /**
+     * Indica se a dedução coloca um número ({@code true}) ou apenas elimina candidatos ({@code false}).
+     */
+    public boolean isPlacement() {
+        return cell >= 0;
+    }
+
+    /** Linha da célula a preencher (0 a 8), quando {@link #isPlacement()}. */
+    public int getRow() {
+        return cell / 9;
+    }
+
+    /** Coluna da célula a preencher (0 a 8), quando {@link #isPlacement()}. */
+    public int getCol() {
+        return cell % 9;
+    }
+
+    /** Número a colocar (1 a 9), quando {@link #isPlacement()}. */
+    public int getDigit() {
+        return digit;
+    }
+
+    /**
+     * Unidade que justifica a dedução: 0 a 8 são linhas, 9 a 17 colunas e 18 a 26 blocos.
+     */
+    public int getUnit() {
+        return unit;
+    }
+
+    /** Quantidade de células com candidatos eliminados. */
+    public int getEliminationCount() {
+        return eliminations;
+    }
+
+    /** Índice ({@code linha * 9 + coluna}) da i-ésima célula com candidatos eliminados. */
+    public int getEliminationCell(int i) {
+        return eliminationCells[i];
+    }
+
+    /** Máscara de 9 bits com os candidatos eliminados da i-ésima célula. */
+    public int getEliminationMask(int i) {
+        return eliminationMasks[i];
+    }
+
+    int cell() {
+        return cell;
+    }
+
+    /**
+     * Nome legível da unidade, com índices de 0 a 8 como no restante do jogo.
+     */
+    public static String describeUnit(int unit) {
+        if (unit < 9) {
+            return "linha " + unit;
+        }
+        return unit < 18 ? "coluna " + (unit - 9) : "bloco " + (unit - 18);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(tecnica.getDescricao()).append(" (").append(describeUnit(unit)).append("): ");
+        if (isPlacement()) {
+            return text.append("coloque ").append(digit).append(" na linha ").append(getRow())
+                    .append(", coluna ").append(getCol()).toString();
+        }
+        text.append("elimine");
+        for (int i = 0; i < eliminations; i++) {
+            text.append(i == 0 ? " " : "; ");
+            int mask = eliminationMasks[i];
+            for (int d = 1; d <= 9; d++) {
+                if ((mask & (1 << (d - 1))) != 0) {
+                    text.append(d);
+                }
+            }
+            text.append(" de (").append(eliminationCells[i] / 9).append(", ").append(eliminationCells[i] % 9).append(')');
+        }
+        return text.toString();
+    }
+}
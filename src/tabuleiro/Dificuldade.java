@@ -0,0 +1,57 @@
+package tabuleiro;
+
+public enum Dificuldade {
+
+    /**
+     * Tabuleiro com muitas pistas. O {@link Generator} só mira a quantidade de pistas: o nível
+     * de um jogo gerado, medido pelo {@link LogicalSolver}, pode sair acima deste.
+     *
+     * Parâmetros:
+     *   - pistas: {@code 36}
+     *   - descricao: "Fácil"
+     */
+    FACIL(36, "Fácil"),
+    /**
+     * Tabuleiro intermediário.
+     *
+     * Parâmetros:
+     *   - pistas: {@code 30}
+     *   - descricao: "Médio"
+     */
+    MEDIO(30, "Médio"),
+    /**
+     * Tabuleiro com poucas pistas.
+     *
+     * Parâmetros:
+     *   - pistas: {@code 26}
+     *   - descricao: "Difícil"
+     */
+    DIFICIL(26, "Difícil"),
+    /**
+     * Tabuleiro com o mínimo de pistas que o gerador consegue atingir de forma prática.
+     *
+     * Parâmetros:
+     *   - pistas: {@code 22}
+     *   - descricao: "Especialista"
+     */
+    ESPECIALISTA(22, "Especialista");
+
+    private final int pistas;
+    private final String descricao;
+
+    /**
+     * Quantidade alvo de números iniciais usada pelo {@link Generator}.
+     */
+    public int getPistas() {
+        return pistas;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    Dificuldade(int pistas, String descricao) {
+        this.pistas = pistas;
+        this.descricao = descricao;
+    }
+}
@@ -0,0 +1,153 @@
+package tabuleiro;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de tabuleiros com solução única.
+ * <p>
+ * Primeiro monta uma grade completa (os três blocos da diagonal são independentes,
+ * então recebem permutações aleatórias e o {@link Solver} completa o resto). Depois
+ * tenta remover cada célula uma única vez, em ordem aleatória, mantendo a remoção
+ * apenas se a solução continuar única. Isso limita o pior caso a 81 testes de
+ * unicidade por tabuleiro, sem laços de rejeição.
+ * <p>
+ * A mesma semente sempre gera o mesmo tabuleiro. Uma instância reaproveita os seus
+ * vetores entre chamadas e não é thread-safe.
+ */
+public class Generator {
+
+    private SplittableRandom random;
+    private final Solver solver = new Solver();
+    private final byte[] solution = new byte[81];
+    private final byte[] puzzle = new byte[81];
+    private final int[] order = new int[81];
+    private final int[] digits = new int[9];
+
+    /**
+     * @param seed {@code long} - Semente do gerador aleatório.
+     */
+    public Generator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * @param random {@code SplittableRandom} - Fonte de aleatoriedade exclusiva desta instância.
+     */
+    public Generator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Troca a semente: a partir daqui, a instância gera os mesmos tabuleiros que
+     * {@code new Generator(seed)}, sem recriar o {@link Solver} e os vetores de trabalho.
+     *
+     * @param seed {@code long} - Nova semente do gerador aleatório.
+     */
+    public void reseed(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Gera um novo tabuleiro no nível de dificuldade indicado.
+     *
+     * @param board       {@code Board} - Tabuleiro que recebe as pistas geradas.
+     * @param dificuldade {@code Dificuldade} - Nível que define a quantidade alvo de pistas.
+     * @return {@code int} - Quantidade de pistas efetivamente deixadas.
+     */
+    public int generate(Board board, Dificuldade dificuldade) {
+        return generate(board, dificuldade.getPistas());
+    }
+
+    /**
+     * Gera um novo tabuleiro com solução única e carrega as pistas em {@code board}.
+     *
+     * @param board {@code Board} - Tabuleiro que recebe as pistas geradas.
+     * @param clues {@code int} - Quantidade alvo de pistas (17 a 81).
+     * @return {@code int} - Quantidade de pistas efetivamente deixadas; pode ficar acima do alvo
+     * quando nenhuma outra remoção mantém a solução única.
+     */
+    public int generate(Board board, int clues) {
+        int result = generateCells(puzzle, clues);
+        board.loadGivens(puzzle);
+        return result;
+    }
+
+    /**
+     * Gera um tabuleiro com solução única no formato de 81 células (0 para vazio).
+     *
+     * @param out   {@code byte[]} - Recebe as pistas geradas.
+     * @param clues {@code int} - Quantidade alvo de pistas.
+     * @return {@code int} - Quantidade de pistas efetivamente deixadas.
+     */
+    int generateCells(byte[] out, int clues) {
+        if (clues < 17 || clues > 81) {
+            throw new IllegalArgumentException("A quantidade de pistas deve ficar entre 17 e 81.");
+        }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        fillSolution();
+        System.arraycopy(solution, 0, out, 0, 81);
+
+        for (int index = 0; index < 81; index++) {
+            order[index] = index;
+        }
+        shuffle(order, 81);
+
+        int remaining = 81;
+        int checks = 0;
+        for (int i = 0; i < 81 && remaining > clues; i++) {
+            int index = order[i];
+            byte digit = out[index];
+            out[index] = Board.EMPTY;
+            checks++;
+            if (solver.countCells(out, 2) == 1) {
+                remaining--;
+            } else {
+                out[index] = digit; // a remoção tornaria a solução ambígua
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.generation(checks, checks - (81 - remaining), System.nanoTime() - start);
+        }
+        return remaining;
+    }
+
+    /**
+     * Solução completa usada na última geração. Válida até a próxima chamada.
+     */
+    byte[] lastSolution() {
+        return solution;
+    }
+
+    /**
+     * Monta uma grade completa e válida em {@link #solution}.
+     */
+    private void fillSolution() {
+        byte[] seedGrid = puzzle;
+        Arrays.fill(seedGrid, Board.EMPTY);
+        for (int block = 0; block < 9; block += 4) {
+            for (int d = 0; d < 9; d++) {
+                digits[d] = d + 1;
+            }
+            shuffle(digits, 9);
+            int startRow = (block / 3) * 3;
+            int startCol = (block % 3) * 3;
+            for (int k = 0; k < 9; k++) {
+                seedGrid[(startRow + k / 3) * 9 + startCol + k % 3] = (byte) digits[k];
+            }
+        }
+        solver.solveCells(seedGrid, solution);
+    }
+
+    /**
+     * Embaralhamento de Fisher-Yates das primeiras {@code length} posições.
+     */
+    private void shuffle(int[] values, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package tabuleiro;
+
+/**
+ * Dimensões de um tabuleiro {@code N x N} com blocos {@code b x b} ({@code N = b²}) e as tabelas
+ * derivadas delas: linha, coluna e bloco de cada célula, as {@code 3N} unidades e as vizinhas
+ * de cada célula, todas em vetores planos de {@code int}.
+ * <p>
+ * Vai de 4x4 ({@code b = 2}) a 25x25 ({@code b = 5}); com no máximo 25 dígitos, a máscara de
+ * dígitos de uma unidade cabe num {@code int}. O tabuleiro clássico 9x9 continua com as suas
+ * classes próprias ({@link Board}, {@link Solver}, {@link Generator}), que fixam o tamanho em
+ * tempo de compilação, mas lê as tabelas desta geometria com {@code b = 3} por meio de
+ * {@link Topology}; as classes {@code Grid*} usam esta geometria para os demais tamanhos.
+ * <p>
+ * As instâncias são imutáveis e compartilhadas: use {@link #of(int)}.
+ */
+public final class Geometry {
+
+    /** Menor lado de bloco aceito (tabuleiro 4x4). */
+    public static final int MIN_BOX = 2;
+    /** Maior lado de bloco aceito (tabuleiro 25x25): 25 dígitos ainda cabem numa máscara {@code int}. */
+    public static final int MAX_BOX = 5;
+
+    private static final Geometry[] INSTANCES = new Geometry[MAX_BOX + 1];
+
+    static {
+        for (int box = MIN_BOX; box <= MAX_BOX; box++) {
+            INSTANCES[box] = new Geometry(box);
+        }
+    }
+
+    /** Lado do bloco ({@code b}). */
+    final int box;
+    /** Lado do tabuleiro e quantidade de dígitos ({@code N = b²}). */
+    final int size;
+    /** Quantidade de células ({@code N²}). */
+    final int cells;
+    /** Máscara com os {@code N} bits de dígitos ligados: unidade completa e sem repetições. */
+    final int allDigits;
+    final int[] rowOf;
+    final int[] colOf;
+    final int[] boxOf;
+    /** Células de cada unidade: linhas {@code 0..N-1}, colunas {@code N..2N-1} e blocos {@code 2N..3N-1}, {@code N} por unidade. */
+    final int[] units;
+    /** Quantidade de vizinhas de cada célula: {@code 2(N - 1) + (b - 1)²}. */
+    final int peerCount;
+    /** Vizinhas de cada célula, {@link #peerCount} por célula. */
+    final int[] peers;
+
+    private Geometry(int box) {
+        this.box = box;
+        this.size = box * box;
+        this.cells = size * size;
+        this.allDigits = (1 << size) - 1;
+        this.rowOf = new int[cells];
+        this.colOf = new int[cells];
+        this.boxOf = new int[cells];
+        for (int index = 0; index < cells; index++) {
+            rowOf[index] = index / size;
+            colOf[index] = index % size;
+            boxOf[index] = boxIndex(index / size, index % size);
+        }
+
+        this.units = new int[3 * size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                units[i * size + j] = i * size + j;
+                units[(size + i) * size + j] = j * size + i;
+                units[(2 * size + i) * size + j] = ((i / box) * box + j / box) * size + (i % box) * box + j % box;
+            }
+        }
+
+        this.peerCount = 2 * (size - 1) + (box - 1) * (box - 1);
+        this.peers = new int[cells * peerCount];
+        for (int index = 0; index < cells; index++) {
+            int count = 0;
+            for (int other = 0; other < cells; other++) {
+                if (other != index && (rowOf[other] == rowOf[index] || colOf[other] == colOf[index]
+                        || boxOf[other] == boxOf[index])) {
+                    peers[index * peerCount + count++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * Geometria para blocos {@code box x box}.
+     *
+     * @param box {@code int} - Lado do bloco, de {@value #MIN_BOX} a {@value #MAX_BOX}.
+     * @return {@code Geometry} - Instância compartilhada.
+     */
+    public static Geometry of(int box) {
+        if (box < MIN_BOX || box > MAX_BOX) {
+            throw new IllegalArgumentException(
+                    "O lado do bloco deve ficar entre " + MIN_BOX + " e " + MAX_BOX + ".");
+        }
+        return INSTANCES[box];
+    }
+
+    public int getBoxSize() {
+        return box;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCellCount() {
+        return cells;
+    }
+
+    /**
+     * Índice do bloco que contém a célula, numerado por linhas.
+     */
+    int boxIndex(int row, int col) {
+        return (row / box) * box + col / box;
+    }
+
+    /**
+     * Quantidade de pistas equivalente, neste tamanho, à de um nível pensado para o 9x9
+     * (mesma proporção de células preenchidas).
+     */
+    int clues(Dificuldade dificuldade) {
+        return (int) Math.round(dificuldade.getPistas() * (double) cells / 81);
+    }
+}
@@ -0,0 +1,331 @@
+package tabuleiro;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Tabuleiro {@code N x N} com blocos {@code b x b} (4x4, 16x16, 25x25...), com as mesmas regras e
+ * mensagens do {@link Board}. Os dígitos de cada linha, coluna e bloco ficam em máscaras
+ * {@code int} (até 25 bits), então validar uma jogada continua sendo um teste de bit por regra.
+ * <p>
+ * O {@link Board} segue como a implementação do 9x9 clássico, com tamanhos fixos em tempo de
+ * compilação, histórico de jogadas, rascunho e dicas; esta classe cobre os demais tamanhos.
+ */
+public class GridBoard {
+
+    private final Geometry geometry;
+    /** Células do tabuleiro em ordem de linha ({@code row * N + col}); {@code 0} significa vazio. */
+    private final byte[] cells;
+    private final byte[] defaultBoard;
+    /** Máscara com os dígitos já presentes em cada linha (bit {@code d - 1} para o dígito {@code d}). */
+    private final int[] rowMask;
+    private final int[] colMask;
+    private final int[] boxMask;
+    /** Quantidade de células preenchidas. */
+    private int filled;
+    /** Quantidade de números iniciais em {@code defaultBoard}. */
+    private int givens;
+
+    /**
+     * @param boxSize {@code int} - Lado do bloco: 2 para 4x4, 3 para 9x9, 4 para 16x16, 5 para 25x25.
+     */
+    public GridBoard(int boxSize) {
+        this(Geometry.of(boxSize));
+    }
+
+    public GridBoard(Geometry geometry) {
+        this.geometry = geometry;
+        this.cells = new byte[geometry.cells];
+        this.defaultBoard = new byte[geometry.cells];
+        this.rowMask = new int[geometry.size];
+        this.colMask = new int[geometry.size];
+        this.boxMask = new int[geometry.size];
+    }
+
+    /**
+     * Inicia um novo jogo com uma semente aleatória no nível médio.
+     */
+    public void startingGame() {
+        startingGame(new SplittableRandom().nextLong(), Dificuldade.MEDIO);
+    }
+
+    /**
+     * Inicia um novo jogo com solução única gerado pelo {@link GridGenerator}.
+     *
+     * @param seed        {@code long} - Semente: a mesma semente gera o mesmo jogo.
+     * @param dificuldade {@code Dificuldade} - Nível do jogo (proporção de pistas do 9x9).
+     */
+    public void startingGame(long seed, Dificuldade dificuldade) {
+        new GridGenerator(geometry, seed).generate(this, dificuldade);
+    }
+
+    /**
+     * Esvazia todas as células, inclusive os números iniciais.
+     */
+    public void zerarTabuleiro() {
+        Arrays.fill(defaultBoard, Board.EMPTY);
+        givens = 0;
+        reiniciarTabuleiro();
+    }
+
+    /**
+     * Volta o tabuleiro aos números iniciais do jogo.
+     */
+    public void reiniciarTabuleiro() {
+        Arrays.fill(cells, Board.EMPTY);
+        Arrays.fill(rowMask, 0);
+        Arrays.fill(colMask, 0);
+        Arrays.fill(boxMask, 0);
+        filled = 0;
+        int size = geometry.size;
+        for (int index = 0; index < geometry.cells; index++) {
+            if (defaultBoard[index] != Board.EMPTY) {
+                place(index / size, index % size, defaultBoard[index]);
+            }
+        }
+    }
+
+    /**
+     * Carrega os números iniciais de um jogo e os salva como o estado inicial.
+     *
+     * @param givens {@code byte[]} - {@code N²} células em ordem de linha, com {@code 0} para vazio.
+     */
+    void loadGivens(byte[] givens) {
+        System.arraycopy(givens, 0, defaultBoard, 0, defaultBoard.length);
+        this.givens = 0;
+        for (byte given : givens) {
+            if (given != Board.EMPTY) {
+                this.givens++;
+            }
+        }
+        reiniciarTabuleiro();
+    }
+
+    /**
+     * Tenta adicionar um número no tabuleiro na posição especificada,
+     * desde que a posição esteja vazia e o número passe pelas validações de linha, coluna e bloco.
+     *
+     * @param row   {@code int} - Índice da linha (0 a N - 1).
+     * @param col   {@code int} - Índice da coluna (0 a N - 1).
+     * @param value {@code String} - Valor numérico (em string), de 1 a N.
+     */
+    public void addNumber(int row, int col, String value) {
+        System.out.println(applyNumber(row, col, parseDigit(value)).getDescricao());
+    }
+
+    /**
+     * Mesma regra de {@link #addNumber(int, int, String)}, mas sem imprimir nada.
+     *
+     * @param row   {@code int} - Índice da linha (0 a N - 1).
+     * @param col   {@code int} - Índice da coluna (0 a N - 1).
+     * @param digit {@code int} - Número de 1 a N.
+     * @return {@code Mensagem} - Resultado da jogada.
+     */
+    public Mensagem applyNumber(int row, int col, int digit) {
+        if (digit < 1 || digit > geometry.size) {
+            throw invalidDigit();
+        }
+        Mensagem validNumber = isEmpty(row, col)
+                ? Validator.isValid(this, col, digit, row)
+                : Mensagem.PosicaoOcupada;
+        if (Metrics.ENABLED && validNumber == Mensagem.PosicaoOcupada) {
+            Metrics.mensagem(validNumber); // as demais já foram contadas pelo Validator
+        }
+        if (validNumber.isValor()) {
+            place(row, col, digit);
+        }
+        return validNumber;
+    }
+
+    /**
+     * Tenta remover o número informado pelo jogador na posição especificada.
+     * Números fixos do jogo não podem ser removidos.
+     */
+    public void removeNumber(int row, int col) {
+        System.out.println(applyRemoval(row, col).getDescricao());
+    }
+
+    /**
+     * Mesma regra de {@link #removeNumber(int, int)}, mas sem imprimir nada.
+     *
+     * @return {@code Mensagem} - Resultado da remoção.
+     */
+    public Mensagem applyRemoval(int row, int col) {
+        Mensagem result = removal(row, col);
+        if (Metrics.ENABLED) {
+            Metrics.mensagem(result);
+        }
+        return result;
+    }
+
+    private Mensagem removal(int row, int col) {
+        if (isEmpty(row, col)) {
+            return Mensagem.PosicaoVazia;
+        }
+        if (isGiven(row, col)) {
+            return Mensagem.NumeroFixo;
+        }
+        clear(row, col);
+        return Mensagem.RemocaoTrue;
+    }
+
+    /**
+     * Grava o dígito numa célula vazia e atualiza as máscaras. Não faz validação.
+     */
+    void place(int row, int col, int digit) {
+        int bit = 1 << (digit - 1);
+        cells[row * geometry.size + col] = (byte) digit;
+        rowMask[row] |= bit;
+        colMask[col] |= bit;
+        boxMask[geometry.boxIndex(row, col)] |= bit;
+        filled++;
+    }
+
+    /**
+     * Esvazia a célula e devolve o dígito às máscaras. Como só entram jogadas válidas,
+     * o dígito não aparece em outra célula da mesma unidade.
+     */
+    private void clear(int row, int col) {
+        int index = row * geometry.size + col;
+        int bit = ~(1 << (cells[index] - 1));
+        cells[index] = Board.EMPTY;
+        rowMask[row] &= bit;
+        colMask[col] &= bit;
+        boxMask[geometry.boxIndex(row, col)] &= bit;
+        filled--;
+    }
+
+    /**
+     * Dígitos que ainda cabem na célula, em máscara de {@code N} bits (0 se a célula estiver preenchida).
+     */
+    public int getCandidates(int row, int col) {
+        if (!isEmpty(row, col)) {
+            return 0;
+        }
+        return ~(rowMask[row] | colMask[col] | boxMask[geometry.boxIndex(row, col)]) & geometry.allDigits;
+    }
+
+    /**
+     * Status atual do jogo, calculado em tempo constante a partir dos contadores.
+     */
+    public StatusJogo getStatus() {
+        if (filled == givens) {
+            return StatusJogo.NAO_INICIADO;
+        }
+        return filled == geometry.cells ? StatusJogo.COMPLETO : StatusJogo.INCOMPLETO;
+    }
+
+    /**
+     * Verifica se o tabuleiro está completamente correto. Como só entram jogadas válidas,
+     * basta todas as células estarem preenchidas.
+     */
+    public boolean isValidEndGame() {
+        return filled == geometry.cells;
+    }
+
+    public int getBoxSize() {
+        return geometry.box;
+    }
+
+    public int getSize() {
+        return geometry.size;
+    }
+
+    /**
+     * Indica se a célula contém um dos números fixos do jogo.
+     */
+    public boolean isGiven(int row, int col) {
+        return defaultBoard[row * geometry.size + col] != Board.EMPTY;
+    }
+
+    /**
+     * Retorna o dígito da célula indicada, ou {@code 0} se estiver vazia.
+     */
+    public int getNumber(int row, int col) {
+        return cells[row * geometry.size + col];
+    }
+
+    /**
+     * Indica se a célula indicada está vazia.
+     */
+    public boolean isEmpty(int row, int col) {
+        return cells[row * geometry.size + col] == Board.EMPTY;
+    }
+
+    Geometry geometry() {
+        return geometry;
+    }
+
+    /**
+     * Acesso direto às células, para uso do {@link GridSolver} e demais rotinas do pacote.
+     * O vetor não deve ser alterado fora desta classe.
+     */
+    byte[] cells() {
+        return cells;
+    }
+
+    int rowMask(int row) {
+        return rowMask[row];
+    }
+
+    int colMask(int col) {
+        return colMask[col];
+    }
+
+    int boxMask(int box) {
+        return boxMask[box];
+    }
+
+    /**
+     * Exibe o tabuleiro no console, com {@code ||} entre as pilhas e {@code =} entre as faixas.
+     * As células têm a largura do maior número mais dois espaços.
+     */
+    public void printBoard() {
+        int size = geometry.size;
+        int box = geometry.box;
+        int width = String.valueOf(size).length() + 2;
+        StringBuilder line = new StringBuilder();
+        for (int l = 0; l < size; l++) {
+            line.setLength(0);
+            for (int c = 0; c < size; c++) {
+                String cell = isEmpty(l, c) ? "" : String.valueOf(getNumber(l, c));
+                int pad = width - cell.length();
+                line.append(" ".repeat(pad - pad / 2)).append(cell).append(" ".repeat(pad / 2));
+                if (c != size - 1) {
+                    line.append((c + 1) % box == 0 ? " || " : "|");
+                }
+            }
+            System.out.println(line);
+            if (l != size - 1) {
+                char rule = (l + 1) % box == 0 ? '=' : '-';
+                System.out.println(String.valueOf(rule).repeat(line.length()));
+            }
+        }
+        System.out.println("\n");
+    }
+
+    /**
+     * Converte o texto digitado num número de 1 a N.
+     */
+    private int parseDigit(String value) {
+        int digit = 0;
+        if (value.isEmpty() || value.length() > 2) {
+            throw invalidDigit();
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                throw invalidDigit();
+            }
+            digit = digit * 10 + (ch - '0');
+        }
+        if (digit < 1 || digit > geometry.size) {
+            throw invalidDigit();
+        }
+        return digit;
+    }
+
+    private ErroNum invalidDigit() {
+        return new ErroNum("Valor inválido! Só são permitidos números de 1 a " + geometry.size + ".");
+    }
+}
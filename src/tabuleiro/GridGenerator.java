@@ -0,0 +1,213 @@
+package tabuleiro;
+
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de tabuleiros com solução única para qualquer {@link Geometry}.
+ * <p>
+ * A grade completa parte do padrão deslocado clássico
+ * ({@code valor(l, c) = (b * (l % b) + l / b + c) % N + 1}) e é embaralhada com as operações
+ * que preservam as regras: troca de dígitos, de linhas dentro das faixas, de faixas, de
+ * colunas dentro das pilhas, de pilhas e transposição. Isso monta a grade em tempo linear
+ * mesmo em 25x25, onde completar blocos aleatórios com o resolvedor pode levar muito tempo.
+ * <p>
+ * As pistas são retiradas como no {@link Generator}: cada célula é testada uma vez, em ordem
+ * aleatória, e a remoção só fica se a solução continuar única. Em vez de contar soluções, o
+ * teste procura uma solução com outro dígito na célula retirada, e cada busca tem um limite
+ * de nós ({@value #NODE_LIMIT}); se passar dele, a pista fica, o que mantém a geração limitada
+ * em tabuleiros grandes à custa de deixar algumas pistas a mais.
+ * <p>
+ * A mesma semente sempre gera o mesmo tabuleiro. Uma instância reaproveita os seus
+ * vetores entre chamadas e não é thread-safe.
+ */
+public class GridGenerator {
+
+    /** Máximo de nós da busca em cada teste de unicidade. */
+    static final long NODE_LIMIT = 100;
+
+    private final Geometry geometry;
+    private final SplittableRandom random;
+    private final GridSolver solver;
+    private final byte[] solution;
+    private final byte[] scratch;
+    private final int[] order;
+    private final int[] digits;
+    private final int[] rows;
+    private final int[] cols;
+    private final int[] groups;
+
+    /**
+     * @param geometry {@code Geometry} - Tamanho dos tabuleiros gerados.
+     * @param seed     {@code long} - Semente do gerador aleatório.
+     */
+    public GridGenerator(Geometry geometry, long seed) {
+        this.geometry = geometry;
+        this.random = new SplittableRandom(seed);
+        this.solver = new GridSolver(geometry);
+        this.solver.setNodeLimit(NODE_LIMIT);
+        this.solution = new byte[geometry.cells];
+        this.scratch = new byte[geometry.cells];
+        this.order = new int[geometry.cells];
+        this.digits = new int[geometry.size + 1];
+        this.rows = new int[geometry.size];
+        this.cols = new int[geometry.size];
+        this.groups = new int[geometry.box];
+    }
+
+    /**
+     * Gera um novo tabuleiro no nível de dificuldade indicado, com a mesma proporção de
+     * pistas que o nível tem no 9x9.
+     *
+     * @param board       {@code GridBoard} - Tabuleiro que recebe as pistas geradas (da mesma geometria).
+     * @param dificuldade {@code Dificuldade} - Nível que define a quantidade alvo de pistas.
+     * @return {@code int} - Quantidade de pistas efetivamente deixadas.
+     */
+    public int generate(GridBoard board, Dificuldade dificuldade) {
+        return generate(board, geometry.clues(dificuldade));
+    }
+
+    /**
+     * Gera um novo tabuleiro com solução única e carrega as pistas em {@code board}.
+     *
+     * @param board {@code GridBoard} - Tabuleiro que recebe as pistas geradas (da mesma geometria).
+     * @param clues {@code int} - Quantidade alvo de pistas.
+     * @return {@code int} - Quantidade de pistas efetivamente deixadas; pode ficar acima do alvo
+     * quando nenhuma outra remoção mantém a solução única dentro do limite de busca.
+     */
+    public int generate(GridBoard board, int clues) {
+        if (board.geometry() != geometry) {
+            throw new IllegalArgumentException("O tabuleiro tem outro tamanho.");
+        }
+        int result = generateCells(scratch, clues);
+        board.loadGivens(scratch);
+        return result;
+    }
+
+    /**
+     * Gera um tabuleiro com solução única no formato de {@code N²} células (0 para vazio).
+     *
+     * @param out   {@code byte[]} - Recebe as pistas geradas.
+     * @param clues {@code int} - Quantidade alvo de pistas (de {@code 1} a {@code N²}).
+     * @return {@code int} - Quantidade de pistas efetivamente deixadas.
+     */
+    int generateCells(byte[] out, int clues) {
+        int cells = geometry.cells;
+        if (clues < 1 || clues > cells) {
+            throw new IllegalArgumentException("A quantidade de pistas deve ficar entre 1 e " + cells + ".");
+        }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        fillSolution();
+        System.arraycopy(solution, 0, out, 0, cells);
+
+        for (int index = 0; index < cells; index++) {
+            order[index] = index;
+        }
+        shuffle(order, cells);
+
+        int remaining = cells;
+        int checks = 0;
+        for (int i = 0; i < cells && remaining > clues; i++) {
+            int index = order[i];
+            byte digit = out[index];
+            checks++;
+            if (onlyDigit(out, index, digit)) {
+                out[index] = Board.EMPTY;
+                remaining--;
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.generation(checks, checks - (cells - remaining), System.nanoTime() - start);
+        }
+        return remaining;
+    }
+
+    /**
+     * Testa se, sem a pista {@code index}, a solução continua única. Como o tabuleiro atual
+     * tem solução única, basta mostrar que nenhum outro dígito que caiba na célula leva a uma
+     * solução: cada teste costuma cair numa contradição logo na propagação, bem mais barato
+     * que contar soluções do tabuleiro inteiro. Ao passar do limite de nós, a pista fica.
+     */
+    private boolean onlyDigit(byte[] puzzle, int index, byte digit) {
+        int used = 0;
+        for (int k = 0; k < geometry.peerCount; k++) {
+            int peer = puzzle[geometry.peers[index * geometry.peerCount + k]];
+            if (peer != Board.EMPTY) {
+                used |= 1 << (peer - 1);
+            }
+        }
+        int others = ~used & geometry.allDigits & ~(1 << (digit - 1));
+        boolean unique = true;
+        while (others != 0 && unique) {
+            int bit = others & -others;
+            others ^= bit;
+            puzzle[index] = (byte) (Integer.numberOfTrailingZeros(bit) + 1);
+            unique = solver.countCells(puzzle, 1) == 0;
+        }
+        puzzle[index] = digit;
+        return unique;
+    }
+
+    /**
+     * Solução completa usada na última geração. Válida até a próxima chamada.
+     */
+    byte[] lastSolution() {
+        return solution;
+    }
+
+    /**
+     * Monta em {@link #solution} o padrão deslocado com dígitos, linhas e colunas embaralhados.
+     */
+    private void fillSolution() {
+        int box = geometry.box;
+        int size = geometry.size;
+        for (int d = 1; d <= size; d++) {
+            digits[d] = d;
+        }
+        shuffle(digits, 1, size);
+        shuffleLines(rows);
+        shuffleLines(cols);
+        boolean transpose = random.nextBoolean();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int row = rows[r];
+                int col = cols[c];
+                int value = (box * (row % box) + row / box + col) % size + 1;
+                solution[transpose ? c * size + r : r * size + c] = (byte) digits[value];
+            }
+        }
+    }
+
+    /**
+     * Ordem aleatória de linhas (ou colunas) que respeita os blocos: as faixas trocam de lugar
+     * inteiras e as linhas só trocam de lugar dentro da própria faixa.
+     */
+    private void shuffleLines(int[] lines) {
+        int box = geometry.box;
+        for (int g = 0; g < box; g++) {
+            groups[g] = g;
+        }
+        shuffle(groups, 0, box);
+        for (int g = 0; g < box; g++) {
+            for (int k = 0; k < box; k++) {
+                lines[g * box + k] = groups[g] * box + k;
+            }
+            shuffle(lines, g * box, box);
+        }
+    }
+
+    private void shuffle(int[] values, int length) {
+        shuffle(values, 0, length);
+    }
+
+    /**
+     * Embaralhamento de Fisher-Yates das posições {@code from .. from + length - 1}.
+     */
+    private void shuffle(int[] values, int from, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[from + i];
+            values[from + i] = values[from + j];
+            values[from + j] = tmp;
+        }
+    }
+}
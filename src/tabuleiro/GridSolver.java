@@ -0,0 +1,287 @@
+package tabuleiro;
+
+import java.util.Arrays;
+
+/**
+ * Versão do {@link Solver} para qualquer {@link Geometry}: mesmas máscaras de bits, mesma
+ * propagação (candidatos únicos e dígitos únicos na unidade) e mesmo backtracking por MRV,
+ * com os tamanhos lidos da geometria em vez de fixos em 9.
+ * <p>
+ * Em tabuleiros grandes a busca pode explodir; {@link #setNodeLimit(long)} limita a quantidade
+ * de nós visitados por chamada. Uma instância reaproveita os seus vetores entre chamadas e
+ * não é thread-safe.
+ */
+public class GridSolver {
+
+    private final Geometry geometry;
+    private final byte[] grid;
+    private final int[] rows;
+    private final int[] cols;
+    private final int[] boxes;
+    /** Pilha com as células preenchidas durante a busca, usada para desfazer jogadas. */
+    private final int[] trail;
+    private int trailSize;
+
+    private byte[] solution;
+    private int solutions;
+    private int limit;
+    private long nodeLimit = Long.MAX_VALUE;
+    private long nodes;
+    private boolean exhausted;
+
+    /**
+     * @param geometry {@code Geometry} - Tamanho dos tabuleiros resolvidos por esta instância.
+     */
+    public GridSolver(Geometry geometry) {
+        this.geometry = geometry;
+        this.grid = new byte[geometry.cells];
+        this.rows = new int[geometry.size];
+        this.cols = new int[geometry.size];
+        this.boxes = new int[geometry.size];
+        this.trail = new int[geometry.cells];
+    }
+
+    /**
+     * Resolve o tabuleiro, preenchendo no próprio {@link GridBoard} as células vazias.
+     *
+     * @param board {@code GridBoard} - Tabuleiro a ser resolvido.
+     * @return {@code boolean} - {@code true} se encontrou solução; {@code false} se o tabuleiro não tem solução
+     * (nesse caso o tabuleiro não é alterado).
+     */
+    public static boolean solve(GridBoard board) {
+        byte[] out = new byte[board.geometry().cells];
+        if (!new GridSolver(board.geometry()).solveCells(board.cells(), out)) {
+            return false;
+        }
+        int size = board.geometry().size;
+        for (int index = 0; index < out.length; index++) {
+            if (board.cells()[index] == Board.EMPTY) {
+                board.place(index / size, index % size, out[index]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Limita a quantidade de nós da busca em cada chamada. Ao passar do limite, a busca para:
+     * {@link #solveCells} devolve {@code false} e {@link #countCells} devolve {@code limit}, ou
+     * seja, o tabuleiro é tratado como sem solução conhecida ou como ambíguo.
+     *
+     * @param nodeLimit {@code long} - Máximo de nós por chamada ({@link Long#MAX_VALUE} para não limitar).
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Resolve um tabuleiro no formato de {@code N²} células (0 para vazio).
+     *
+     * @param puzzle {@code byte[]} - Células iniciais; não é alterado.
+     * @param out    {@code byte[]} - Recebe a solução completa, se existir.
+     * @return {@code boolean} - {@code true} se encontrou solução.
+     */
+    public boolean solveCells(byte[] puzzle, byte[] out) {
+        if (!Metrics.ENABLED) {
+            return run(puzzle, 1, out) == 1 && !exhausted;
+        }
+        long start = System.nanoTime();
+        boolean solved = run(puzzle, 1, out) == 1 && !exhausted;
+        Metrics.solve(System.nanoTime() - start);
+        return solved;
+    }
+
+    /**
+     * Conta as soluções de um tabuleiro no formato de {@code N²} células, até {@code limit}.
+     *
+     * @param puzzle {@code byte[]} - Células iniciais; não é alterado.
+     * @param limit  {@code int} - Número máximo de soluções a procurar.
+     * @return {@code int} - Quantidade de soluções encontradas, no máximo {@code limit}.
+     */
+    public int countCells(byte[] puzzle, int limit) {
+        int found = run(puzzle, limit, null);
+        return exhausted ? limit : found;
+    }
+
+    private int run(byte[] puzzle, int limit, byte[] out) {
+        exhausted = false;
+        if (!load(puzzle)) {
+            return 0;
+        }
+        this.limit = limit;
+        this.solution = out;
+        this.solutions = 0;
+        this.nodes = 0;
+        search();
+        this.solution = null;
+        return solutions;
+    }
+
+    /**
+     * Carrega as células iniciais e monta as máscaras.
+     * @return {@code false} se as pistas já estiverem em conflito.
+     */
+    private boolean load(byte[] puzzle) {
+        Arrays.fill(rows, 0);
+        Arrays.fill(cols, 0);
+        Arrays.fill(boxes, 0);
+        trailSize = 0;
+        for (int index = 0; index < geometry.cells; index++) {
+            int digit = puzzle[index];
+            grid[index] = (byte) digit;
+            if (digit != Board.EMPTY) {
+                int bit = 1 << (digit - 1);
+                int row = geometry.rowOf[index];
+                int col = geometry.colOf[index];
+                int box = geometry.boxOf[index];
+                if (((rows[row] | cols[col] | boxes[box]) & bit) != 0) {
+                    return false;
+                }
+                rows[row] |= bit;
+                cols[col] |= bit;
+                boxes[box] |= bit;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca recursiva. Retorna {@code true} quando já encontrou {@code limit} soluções
+     * (ou passou do limite de nós) e a busca deve parar. Ao retornar, o estado volta ao que era na entrada.
+     */
+    private boolean search() {
+        if (++nodes > nodeLimit) {
+            exhausted = true;
+            return true;
+        }
+        int mark = trailSize;
+        if (!propagate()) {
+            undo(mark);
+            return false;
+        }
+
+        int best = -1;
+        int bestCandidates = 0;
+        int bestCount = Integer.MAX_VALUE;
+        for (int index = 0; index < geometry.cells && bestCount > 2; index++) {
+            if (grid[index] == Board.EMPTY) {
+                int candidates = candidates(index);
+                int count = Integer.bitCount(candidates);
+                if (count < bestCount) {
+                    best = index;
+                    bestCandidates = candidates;
+                    bestCount = count;
+                }
+            }
+        }
+
+        if (best < 0) {
+            // Tabuleiro completo: registra a solução
+            if (solutions++ == 0 && solution != null) {
+                System.arraycopy(grid, 0, solution, 0, geometry.cells);
+            }
+            boolean stop = solutions >= limit;
+            undo(mark);
+            return stop;
+        }
+
+        while (bestCandidates != 0) {
+            int bit = bestCandidates & -bestCandidates;
+            bestCandidates ^= bit;
+            assign(best, Integer.numberOfTrailingZeros(bit) + 1);
+            if (search()) {
+                undo(mark);
+                return true;
+            }
+            undo(trailSize - 1);
+        }
+        undo(mark);
+        return false;
+    }
+
+    /**
+     * Aplica candidatos únicos e dígitos únicos na unidade até não haver mais mudanças.
+     *
+     * @return {@code false} se encontrou uma contradição.
+     */
+    private boolean propagate() {
+        int size = geometry.size;
+        int[] units = geometry.units;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int index = 0; index < geometry.cells; index++) {
+                if (grid[index] == Board.EMPTY) {
+                    int candidates = candidates(index);
+                    if (candidates == 0) {
+                        return false;
+                    }
+                    if ((candidates & (candidates - 1)) == 0) {
+                        assign(index, Integer.numberOfTrailingZeros(candidates) + 1);
+                        changed = true;
+                    }
+                }
+            }
+            if (changed) {
+                continue; // candidatos únicos são mais baratos: esgota-os antes de olhar as unidades
+            }
+            for (int start = 0; start < units.length; start += size) {
+                int once = 0;
+                int twice = 0;
+                int placed = 0;
+                for (int k = start; k < start + size; k++) {
+                    int index = units[k];
+                    if (grid[index] == Board.EMPTY) {
+                        int candidates = candidates(index);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    } else {
+                        placed |= 1 << (grid[index] - 1);
+                    }
+                }
+                if ((once | placed) != geometry.allDigits) {
+                    return false;
+                }
+                int hidden = once & ~twice;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+                    for (int k = start; k < start + size; k++) {
+                        int index = units[k];
+                        if (grid[index] == Board.EMPTY && (candidates(index) & bit) != 0) {
+                            assign(index, Integer.numberOfTrailingZeros(bit) + 1);
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private int candidates(int index) {
+        return ~(rows[geometry.rowOf[index]] | cols[geometry.colOf[index]] | boxes[geometry.boxOf[index]])
+                & geometry.allDigits;
+    }
+
+    private void assign(int index, int digit) {
+        int bit = 1 << (digit - 1);
+        grid[index] = (byte) digit;
+        rows[geometry.rowOf[index]] |= bit;
+        cols[geometry.colOf[index]] |= bit;
+        boxes[geometry.boxOf[index]] |= bit;
+        trail[trailSize++] = index;
+    }
+
+    /** Desfaz as jogadas da pilha até que ela volte ao tamanho {@code mark}. */
+    private void undo(int mark) {
+        while (trailSize > mark) {
+            int index = trail[--trailSize];
+            int bit = ~(1 << (grid[index] - 1));
+            grid[index] = Board.EMPTY;
+            rows[geometry.rowOf[index]] &= bit;
+            cols[geometry.colOf[index]] &= bit;
+            boxes[geometry.boxOf[index]] &= bit;
+        }
+    }
+}
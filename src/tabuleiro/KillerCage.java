@@ -0,0 +1,122 @@
+package tabuleiro;
+
+import java.util.Arrays;
+
+/**
+ * Gaiola do Sudoku killer: as células não repetem dígitos e somam {@link #getSum()}.
+ * <p>
+ * Numa célula vazia, só são permitidos os dígitos que a gaiola ainda não tem e que deixam a
+ * soma alcançável: depois de colocar o dígito, o que falta precisa caber entre a menor e a
+ * maior soma possíveis com as células vazias restantes e os dígitos ainda livres.
+ */
+public final class KillerCage implements Constraint {
+
+    private final int sum;
+    private final int[] cells;
+
+    /**
+     * @param sum   {@code int} - Soma das células da gaiola.
+     * @param cells {@code int...} - De 1 a 9 células distintas (0 a 80).
+     */
+    public KillerCage(int sum, int... cells) {
+        if (cells.length < 1 || cells.length > 9) {
+            throw new IllegalArgumentException("Uma gaiola deve ter de 1 a 9 células.");
+        }
+        int k = cells.length;
+        if (sum < k * (k + 1) / 2 || sum > k * (19 - k) / 2) {
+            throw new IllegalArgumentException("Nenhuma combinação de " + k + " dígitos distintos soma " + sum + ".");
+        }
+        this.cells = Rules.checkCells(cells);
+        this.sum = sum;
+    }
+
+    public int getSum() {
+        return sum;
+    }
+
+    @Override
+    public int[] cells() {
+        return cells;
+    }
+
+    @Override
+    public int allowed(byte[] grid, int index) {
+        int used = 0;
+        int placed = 0;
+        int empty = 0;
+        for (int cell : cells) {
+            if (cell == index) {
+                continue;
+            }
+            int digit = grid[cell];
+            if (digit == Board.EMPTY) {
+                empty++;
+            } else if ((used & 1 << (digit - 1)) != 0) {
+                return 0; // a gaiola já tem um dígito repetido
+            } else {
+                used |= 1 << (digit - 1);
+                placed += digit;
+            }
+        }
+        int available = ~used & Validator.ALL_DIGITS;
+        int result = 0;
+        for (int bits = available; bits != 0; bits &= bits - 1) {
+            int bit = bits & -bits;
+            int rest = sum - placed - (Integer.numberOfTrailingZeros(bit) + 1);
+            if (reachable(available & ~bit, empty, rest)) {
+                result |= bit;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Se {@code rest} fica entre a soma dos {@code count} menores e a dos {@code count} maiores
+     * dígitos de {@code digits}. É uma condição necessária, não suficiente (com {1, 2, 9}, dois
+     * dígitos não somam 5): nunca descarta um dígito possível, e o que passar por engano é
+     * descartado pela busca do {@link VariantSolver}.
+     */
+    private static boolean reachable(int digits, int count, int rest) {
+        if (Integer.bitCount(digits) < count) {
+            return false;
+        }
+        int low = 0;
+        int high = 0;
+        int lowBits = digits;
+        int highBits = digits;
+        for (int k = 0; k < count; k++) {
+            int lowest = lowBits & -lowBits;
+            lowBits ^= lowest;
+            low += Integer.numberOfTrailingZeros(lowest) + 1;
+            int highest = Integer.highestOneBit(highBits);
+            highBits ^= highest;
+            high += Integer.numberOfTrailingZeros(highest) + 1;
+        }
+        return rest >= low && rest <= high;
+    }
+
+    @Override
+    public boolean isSatisfied(byte[] grid) {
+        int seen = 0;
+        int total = 0;
+        for (int cell : cells) {
+            int bit = (1 << grid[cell]) >>> 1;
+            if (bit == 0 || (seen & bit) != 0) {
+                return false;
+            }
+            seen |= bit;
+            total += grid[cell];
+        }
+        return total == sum;
+    }
+
+    @Override
+    public Mensagem violation() {
+        return Mensagem.GaiolaFalse;
+    }
+
+    @Override
+    public String toString() {
+        return "KillerCage(" + sum + ")" + Arrays.toString(cells);
+    }
+}
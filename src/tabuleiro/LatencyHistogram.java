@@ -0,0 +1,159 @@
+package tabuleiro;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências no estilo HDR: faixas log-lineares com 16 subfaixas por potência
+ * de 2, o que dá erro relativo de no máximo 1/16 (cerca de 6%) em qualquer valor, de 1 ns
+ * a séculos, em 976 contadores fixos. Valores abaixo de 32 ns são exatos.
+ * <p>
+ * Os contadores são divididos em listras ({@link AtomicLongArray}) escolhidas pela thread,
+ * como as células de um {@link LongAdder}: threads diferentes raramente disputam a mesma
+ * listra, e a leitura soma todas. Gravar não aloca e custa um incremento atômico.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        int stripes = Integer.highestOneBit(Math.min(64, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.stripes = new AtomicLongArray[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new AtomicLongArray(BUCKETS);
+        }
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * Registra uma medida.
+     *
+     * @param nanos {@code long} - Duração em nanossegundos (valores negativos contam como 0).
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        stripes[(int) Thread.currentThread().getId() & stripeMask].incrementAndGet(bucket(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Quantidade de medidas registradas.
+     */
+    public long getCount() {
+        long count = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int b = 0; b < BUCKETS; b++) {
+                count += stripe.get(b);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Média das medidas, em nanossegundos (0 se não houver medidas).
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Maior medida registrada, em nanossegundos.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Valor abaixo do qual estão {@code percentile}% das medidas, com a precisão das faixas
+     * (devolve o limite superior da faixa onde o percentil cai).
+     *
+     * @param percentile {@code double} - Percentil de 0 a 100.
+     * @return {@code long} - Latência em nanossegundos (0 se não houver medidas).
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = snapshot();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                return Math.min(upperBound(b), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Zera o histograma. Medidas gravadas durante a chamada podem ou não ser mantidas.
+     */
+    public void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int b = 0; b < BUCKETS; b++) {
+                stripe.set(b, 0);
+            }
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Resumo em microssegundos: quantidade, média, p50, p99, p99,9 e máximo.
+     */
+    @Override
+    public String toString() {
+        return String.format("n=%d média=%.1fus p50=%.1fus p99=%.1fus p99.9=%.1fus máx=%.1fus",
+                getCount(), getMean() / 1e3, getValueAtPercentile(50) / 1e3, getValueAtPercentile(99) / 1e3,
+                getValueAtPercentile(99.9) / 1e3, getMax() / 1e3);
+    }
+
+    private long[] snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int b = 0; b < BUCKETS; b++) {
+                counts[b] += stripe.get(b);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Faixa do valor: exata abaixo de 16; acima, os 4 bits seguintes ao bit mais alto
+     * escolhem uma das 16 subfaixas da potência de 2.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Maior valor que cai na faixa {@code bucket}.
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BITS) - 1;
+        long mantissa = (bucket & (SUB_BUCKETS - 1)) | SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,378 @@
+package tabuleiro;
+
+import java.util.Arrays;
+
+/**
+ * Resolvedor "humano": aplica técnicas de dedução em ordem crescente de dificuldade
+ * (ver {@link Tecnica}) e nunca chuta. Usa as mesmas unidades do {@link Validator}
+ * (9 linhas, 9 colunas e 9 blocos 3x3) sobre máscaras de candidatos de 9 bits.
+ * <p>
+ * Serve para avaliar a dificuldade de um tabuleiro ({@link #rate(byte[])}) e, via
+ * {@link #findDeduction(byte[], short[], Deducao)}, para achar a próxima dedução sobre
+ * candidatos mantidos por outra classe. Uma instância reaproveita os seus vetores e não é thread-safe.
+ */
+public class LogicalSolver {
+
+    private final byte[] cells = new byte[81];
+    private final short[] candidates = new short[81];
+    private final Deducao deducao = new Deducao();
+    private final int[] uses = new int[Tecnica.values().length];
+    /** Confere a unicidade quando a dedução trava; criado na primeira vez. */
+    private Solver solver;
+
+    /**
+     * Avalia os números iniciais do tabuleiro.
+     *
+     * @param board {@code Board} - Tabuleiro a avaliar (não é alterado).
+     * @return {@code Rating} - Técnicas usadas, pontuação e nível.
+     */
+    public Rating rate(Board board) {
+        return rate(board.cells());
+    }
+
+    /**
+     * Resolve o tabuleiro só com dedução lógica, registrando cada técnica usada.
+     * Se as técnicas não bastarem, o tabuleiro fica como {@link Dificuldade#ESPECIALISTA} quando
+     * tiver solução única, e como {@link Rating.Resultado#INVALIDO} quando não tiver solução,
+     * tiver mais de uma ou os números iniciais estiverem em conflito.
+     *
+     * @param puzzle {@code byte[]} - 81 células (0 para vazio); não é alterado.
+     * @return {@code Rating} - Técnicas usadas, pontuação e nível.
+     */
+    public Rating rate(byte[] puzzle) {
+        Arrays.fill(uses, 0);
+        if (!load(puzzle)) {
+            return new Rating(uses, Rating.Resultado.INVALIDO);
+        }
+        while (findDeduction(cells, candidates, deducao)) {
+            uses[deducao.getTecnica().ordinal()]++;
+            apply(cells, candidates, deducao);
+        }
+        for (byte cell : cells) {
+            if (cell == Board.EMPTY) {
+                if (solver == null) {
+                    solver = new Solver();
+                }
+                return new Rating(uses, solver.countCells(puzzle, 2) == 1
+                        ? Rating.Resultado.TENTATIVA : Rating.Resultado.INVALIDO);
+            }
+        }
+        return new Rating(uses, Rating.Resultado.LOGICO);
+    }
+
+    /**
+     * Carrega o tabuleiro e calcula os candidatos.
+     * @return {@code false} se os números iniciais estiverem em conflito.
+     */
+    private boolean load(byte[] puzzle) {
+        Arrays.fill(candidates, (short) Validator.ALL_DIGITS);
+        for (int index = 0; index < 81; index++) {
+            cells[index] = Board.EMPTY;
+        }
+        for (int index = 0; index < 81; index++) {
+            int digit = puzzle[index];
+            if (digit != Board.EMPTY) {
+                if ((candidates[index] & (1 << (digit - 1))) == 0) {
+                    return false;
+                }
+                cells[index] = (byte) digit;
+                candidates[index] = 0;
+                for (int k = index * Topology.PEER_COUNT, end = k + Topology.PEER_COUNT; k < end; k++) {
+                    candidates[Topology.PEERS[k]] &= (short) ~(1 << (digit - 1));
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aplica a dedução sobre as células e os candidatos.
+     */
+    static void apply(byte[] cells, short[] candidates, Deducao deducao) {
+        if (deducao.isPlacement()) {
+            int index = deducao.cell();
+            int bit = 1 << (deducao.getDigit() - 1);
+            cells[index] = (byte) deducao.getDigit();
+            candidates[index] = 0;
+            for (int k = index * Topology.PEER_COUNT, end = k + Topology.PEER_COUNT; k < end; k++) {
+                candidates[Topology.PEERS[k]] &= (short) ~bit;
+            }
+            return;
+        }
+        for (int i = 0; i < deducao.getEliminationCount(); i++) {
+            candidates[deducao.getEliminationCell(i)] &= (short) ~deducao.getEliminationMask(i);
+        }
+    }
+
+    /**
+     * Procura a dedução mais simples disponível, testando as técnicas em ordem.
+     *
+     * @param cells      {@code byte[]} - 81 células (0 para vazio).
+     * @param candidates {@code short[]} - Candidatos de cada célula vazia.
+     * @param out        {@code Deducao} - Recebe a dedução encontrada.
+     * @return {@code boolean} - {@code false} se nenhuma técnica se aplica (ou há contradição).
+     */
+    static boolean findDeduction(byte[] cells, short[] candidates, Deducao out) {
+        return nakedSingle(cells, candidates, out)
+                || hiddenSingle(cells, candidates, out)
+                || pointing(cells, candidates, out)
+                || claiming(cells, candidates, out)
+                || nakedPair(cells, candidates, out)
+                || hiddenPair(cells, candidates, out)
+                || nakedTriple(cells, candidates, out)
+                || xWing(cells, candidates, out);
+    }
+
+    private static boolean nakedSingle(byte[] cells, short[] candidates, Deducao out) {
+        for (int index = 0; index < 81; index++) {
+            int mask = candidates[index];
+            if (cells[index] == Board.EMPTY && mask != 0 && (mask & (mask - 1)) == 0) {
+                out.reset(Tecnica.CANDIDATO_UNICO, Topology.ROW[index]);
+                out.setPlacement(index, Integer.numberOfTrailingZeros(mask) + 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hiddenSingle(byte[] cells, short[] candidates, Deducao out) {
+        for (int unit = 0; unit < 27; unit++) {
+            int start = unit * Topology.UNIT_SIZE;
+            int once = 0;
+            int twice = 0;
+            for (int k = start; k < start + Topology.UNIT_SIZE; k++) {
+                int mask = candidates[Topology.UNITS[k]];
+                twice |= once & mask;
+                once |= mask;
+            }
+            int hidden = once & ~twice;
+            if (hidden != 0) {
+                int bit = hidden & -hidden;
+                for (int k = start; k < start + Topology.UNIT_SIZE; k++) {
+                    int index = Topology.UNITS[k];
+                    if ((candidates[index] & bit) != 0) {
+                        out.reset(Tecnica.UNICO_NA_UNIDADE, unit);
+                        out.setPlacement(index, Integer.numberOfTrailingZeros(bit) + 1);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Dígito confinado a uma linha ou coluna dentro de um bloco.
+     */
+    private static boolean pointing(byte[] cells, short[] candidates, Deducao out) {
+        for (int block = 0; block < 9; block++) {
+            for (int bit = 1; bit <= Validator.ALL_DIGITS; bit <<= 1) {
+                int rows = 0;
+                int cols = 0;
+                for (int k = (18 + block) * Topology.UNIT_SIZE, end = k + Topology.UNIT_SIZE; k < end; k++) {
+                    int index = Topology.UNITS[k];
+                    if ((candidates[index] & bit) != 0) {
+                        rows |= 1 << Topology.ROW[index];
+                        cols |= 1 << Topology.COL[index];
+                    }
+                }
+                if (rows != 0 && (rows & (rows - 1)) == 0
+                        && eliminateOutside(candidates, Integer.numberOfTrailingZeros(rows), 18 + block, bit,
+                        Tecnica.INTERSECAO_BLOCO, out)) {
+                    return true;
+                }
+                if (cols != 0 && (cols & (cols - 1)) == 0
+                        && eliminateOutside(candidates, 9 + Integer.numberOfTrailingZeros(cols), 18 + block, bit,
+                        Tecnica.INTERSECAO_BLOCO, out)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Dígito confinado a um bloco dentro de uma linha ou coluna.
+     */
+    private static boolean claiming(byte[] cells, short[] candidates, Deducao out) {
+        for (int line = 0; line < 18; line++) {
+            for (int bit = 1; bit <= Validator.ALL_DIGITS; bit <<= 1) {
+                int blocks = 0;
+                for (int k = line * Topology.UNIT_SIZE, end = k + Topology.UNIT_SIZE; k < end; k++) {
+                    int index = Topology.UNITS[k];
+                    if ((candidates[index] & bit) != 0) {
+                        blocks |= 1 << Topology.BLOCK[index];
+                    }
+                }
+                if (blocks != 0 && (blocks & (blocks - 1)) == 0
+                        && eliminateOutside(candidates, 18 + Integer.numberOfTrailingZeros(blocks), line, bit,
+                        Tecnica.INTERSECAO_LINHA, out)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Elimina {@code bit} das células de {@code target} que não pertencem a {@code source}.
+     * A justificativa registrada é a unidade {@code source}.
+     */
+    private static boolean eliminateOutside(short[] candidates, int target, int source, int bit,
+                                            Tecnica tecnica, Deducao out) {
+        out.reset(tecnica, source);
+        for (int k = target * Topology.UNIT_SIZE, end = k + Topology.UNIT_SIZE; k < end; k++) {
+            int index = Topology.UNITS[k];
+            if ((candidates[index] & bit) != 0 && !Topology.contains(source, index)) {
+                out.addElimination(index, bit);
+            }
+        }
+        return out.getEliminationCount() > 0;
+    }
+
+    private static boolean nakedPair(byte[] cells, short[] candidates, Deducao out) {
+        for (int unit = 0; unit < 27; unit++) {
+            int start = unit * Topology.UNIT_SIZE;
+            for (int i = 0; i < 9; i++) {
+                int pair = candidates[Topology.UNITS[start + i]];
+                if (Integer.bitCount(pair) != 2) {
+                    continue;
+                }
+                for (int j = i + 1; j < 9; j++) {
+                    if (candidates[Topology.UNITS[start + j]] == pair
+                            && eliminateFromOthers(candidates, unit, pair,
+                            Topology.UNITS[start + i], Topology.UNITS[start + j], -1, Tecnica.PAR_NU, out)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean nakedTriple(byte[] cells, short[] candidates, Deducao out) {
+        for (int unit = 0; unit < 27; unit++) {
+            int start = unit * Topology.UNIT_SIZE;
+            for (int i = 0; i < 9; i++) {
+                int a = candidates[Topology.UNITS[start + i]];
+                if (a == 0 || Integer.bitCount(a) > 3) {
+                    continue;
+                }
+                for (int j = i + 1; j < 9; j++) {
+                    int b = candidates[Topology.UNITS[start + j]];
+                    if (b == 0 || Integer.bitCount(a | b) > 3) {
+                        continue;
+                    }
+                    for (int k = j + 1; k < 9; k++) {
+                        int c = candidates[Topology.UNITS[start + k]];
+                        int union = a | b | c;
+                        if (c != 0 && Integer.bitCount(union) == 3
+                                && eliminateFromOthers(candidates, unit, union, Topology.UNITS[start + i],
+                                Topology.UNITS[start + j], Topology.UNITS[start + k], Tecnica.TRIO_NU, out)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Elimina {@code mask} de todas as células da unidade, exceto as informadas.
+     */
+    private static boolean eliminateFromOthers(short[] candidates, int unit, int mask, int keep1, int keep2, int keep3,
+                                               Tecnica tecnica, Deducao out) {
+        out.reset(tecnica, unit);
+        for (int k = unit * Topology.UNIT_SIZE, end = k + Topology.UNIT_SIZE; k < end; k++) {
+            int index = Topology.UNITS[k];
+            if (index != keep1 && index != keep2 && index != keep3 && (candidates[index] & mask) != 0) {
+                out.addElimination(index, candidates[index] & mask);
+            }
+        }
+        return out.getEliminationCount() > 0;
+    }
+
+    private static boolean hiddenPair(byte[] cells, short[] candidates, Deducao out) {
+        for (int unit = 0; unit < 27; unit++) {
+            int start = unit * Topology.UNIT_SIZE;
+            for (int bit1 = 1; bit1 <= Validator.ALL_DIGITS; bit1 <<= 1) {
+                int positions = slots(candidates, unit, bit1);
+                if (Integer.bitCount(positions) != 2) {
+                    continue;
+                }
+                for (int bit2 = bit1 << 1; bit2 <= Validator.ALL_DIGITS; bit2 <<= 1) {
+                    if (slots(candidates, unit, bit2) != positions) {
+                        continue;
+                    }
+                    int keep = bit1 | bit2;
+                    out.reset(Tecnica.PAR_OCULTO, unit);
+                    int remaining = positions;
+                    while (remaining != 0) {
+                        int index = Topology.UNITS[start + Integer.numberOfTrailingZeros(remaining)];
+                        remaining &= remaining - 1;
+                        int extra = candidates[index] & ~keep;
+                        if (extra != 0) {
+                            out.addElimination(index, extra);
+                        }
+                    }
+                    if (out.getEliminationCount() > 0) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean xWing(byte[] cells, short[] candidates, Deducao out) {
+        for (int bit = 1; bit <= Validator.ALL_DIGITS; bit <<= 1) {
+            // base nas linhas (unidades 0-8, cobrindo colunas) e depois nas colunas (9-17, cobrindo linhas)
+            for (int base = 0; base <= 9; base += 9) {
+                for (int first = base; first < base + 9; first++) {
+                    int slotsFirst = slots(candidates, first, bit);
+                    if (Integer.bitCount(slotsFirst) != 2) {
+                        continue;
+                    }
+                    for (int second = first + 1; second < base + 9; second++) {
+                        if (slots(candidates, second, bit) != slotsFirst) {
+                            continue;
+                        }
+                        out.reset(Tecnica.X_WING, first);
+                        int cover = base == 0 ? 9 : 0;
+                        int remaining = slotsFirst;
+                        while (remaining != 0) {
+                            int crossing = cover + Integer.numberOfTrailingZeros(remaining);
+                            remaining &= remaining - 1;
+                            for (int k = crossing * Topology.UNIT_SIZE, end = k + Topology.UNIT_SIZE; k < end; k++) {
+                                int index = Topology.UNITS[k];
+                                if ((candidates[index] & bit) != 0
+                                        && !Topology.contains(first, index) && !Topology.contains(second, index)) {
+                                    out.addElimination(index, bit);
+                                }
+                            }
+                        }
+                        if (out.getEliminationCount() > 0) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Posições (0 a 8) da unidade em que o dígito é candidato, em máscara.
+     */
+    private static int slots(short[] candidates, int unit, int bit) {
+        int slots = 0;
+        int start = unit * Topology.UNIT_SIZE;
+        for (int i = 0; i < 9; i++) {
+            if ((candidates[Topology.UNITS[start + i]] & bit) != 0) {
+                slots |= 1 << i;
+            }
+        }
+        return slots;
+    }
+}
@@ -3,7 +3,7 @@ package tabuleiro;
 public enum Mensagem {
 
     /**
-     * Retorno usado no método {@link Validator#isValid(String[][], int, String, int)}.
+     * Retorno usado no método {@link Validator#isValid(Board, int, int, int)}.
      *
      * Indica que a validação falhou por violação na coluna (validação vertical).
      *
@@ -15,7 +15,7 @@ public enum Mensagem {
      */
     VerticalFalse(false, "Verifique a vertical do número escolhido e o local a ser inserido"),
     /**
-     * Retorno usado no método {@link Validator#isValid(String[][], int, String, int)}.
+     * Retorno usado no método {@link Validator#isValid(Board, int, int, int)}.
      *
      * Indica que a validação falhou por violação na linha (validação horizontal).
      *
@@ -27,7 +27,7 @@ public enum Mensagem {
      */
     HorizontalFalse(false,"Verifique a horizontal do número escolhido e o local a ser inserido"),
     /**
-     * Retorno usado no método {@link Validator#isValid(String[][], int, String, int)}.
+     * Retorno usado no método {@link Validator#isValid(Board, int, int, int)}.
      *
      * Indica que a validação falhou por violação no bloco 3x3 correspondente.
      *
@@ -39,7 +39,43 @@ public enum Mensagem {
      */
     BlocoFalse(false,"Verifique o bloco do número escolhido e o local a ser inserido"),
     /**
-     * Retorno usado no método {@link Validator#isValid(String[][], int, String, int)}.
+     * Retorno usado no método {@link Validator#isValid(Rules, Board, int, int, int)}.
+     *
+     * Indica que a validação falhou por repetição numa das diagonais principais (variante X).
+     *
+     * Tipo: Enum constante
+     * Parâmetros:
+     *   - valor: {@code false}
+     *   - descricao: "Verifique a diagonal do número escolhido e o local a ser inserido"
+     * Retorno no método: Quando a {@link UniqueRegion} de uma diagonal não permite o número
+     */
+    DiagonalFalse(false, "Verifique a diagonal do número escolhido e o local a ser inserido"),
+    /**
+     * Retorno usado no método {@link Validator#isValid(Rules, Board, int, int, int)}.
+     *
+     * Indica que a validação falhou por repetição na região irregular que substitui o bloco 3x3 (variante jigsaw).
+     *
+     * Tipo: Enum constante
+     * Parâmetros:
+     *   - valor: {@code false}
+     *   - descricao: "Verifique a região do número escolhido e o local a ser inserido"
+     * Retorno no método: Quando o número já existe na região da célula
+     */
+    RegiaoFalse(false, "Verifique a região do número escolhido e o local a ser inserido"),
+    /**
+     * Retorno usado no método {@link Validator#isValid(Rules, Board, int, int, int)}.
+     *
+     * Indica que o número repete um dígito da gaiola ou torna a sua soma impossível (variante killer).
+     *
+     * Tipo: Enum constante
+     * Parâmetros:
+     *   - valor: {@code false}
+     *   - descricao: "Verifique a soma e os números da gaiola do local a ser inserido"
+     * Retorno no método: Quando a {@link KillerCage} da célula não permite o número
+     */
+    GaiolaFalse(false, "Verifique a soma e os números da gaiola do local a ser inserido"),
+    /**
+     * Retorno usado no método {@link Validator#isValid(Board, int, int, int)}.
      *
      * Indica que a validação foi bem-sucedida e o valor pode ser inserido.
      *
@@ -49,7 +85,55 @@ public enum Mensagem {
      *   - descricao: "Inserção de valor validada com sucesso"
      * Retorno no método: Quando todas as validações retornam {@code true}
      */
-    ValidationTrue(true, "Inserção de valor validada com sucesso"),;
+    ValidationTrue(true, "Inserção de valor validada com sucesso"),
+    /**
+     * Retorno usado no método {@link Board#addNumber(int, int, String)}.
+     *
+     * Indica que a posição escolhida já contém um número (fixo ou informado pelo jogador).
+     *
+     * Tipo: Enum constante
+     * Parâmetros:
+     *   - valor: {@code false}
+     *   - descricao: "A posição escolhida já está preenchida"
+     * Retorno no método: Quando a célula não está vazia
+     */
+    PosicaoOcupada(false, "A posição escolhida já está preenchida"),
+    /**
+     * Retorno usado no método {@link Board#removeNumber(int, int)}.
+     *
+     * Indica que não há número na posição escolhida para remover.
+     *
+     * Tipo: Enum constante
+     * Parâmetros:
+     *   - valor: {@code false}
+     *   - descricao: "Não há número nesta posição para remover"
+     * Retorno no método: Quando a célula está vazia
+     */
+    PosicaoVazia(false, "Não há número nesta posição para remover"),
+    /**
+     * Retorno usado no método {@link Board#removeNumber(int, int)}.
+     *
+     * Indica que o número da posição faz parte do jogo inicial e não pode ser removido.
+     *
+     * Tipo: Enum constante
+     * Parâmetros:
+     *   - valor: {@code false}
+     *   - descricao: "Este número é fixo do jogo e não pode ser removido"
+     * Retorno no método: Quando a célula contém um número inicial
+     */
+    NumeroFixo(false, "Este número é fixo do jogo e não pode ser removido"),
+    /**
+     * Retorno usado no método {@link Board#removeNumber(int, int)}.
+     *
+     * Indica que o número informado pelo jogador foi removido.
+     *
+     * Tipo: Enum constante
+     * Parâmetros:
+     *   - valor: {@code true}
+     *   - descricao: "Número removido com sucesso"
+     * Retorno no método: Quando a célula continha um número do jogador
+     */
+    RemocaoTrue(true, "Número removido com sucesso"),;
 
     private final boolean valor;
     private final String descricao;
@@ -0,0 +1,244 @@
+package tabuleiro;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Métricas dos caminhos críticos: quantas vezes cada {@link Mensagem} foi devolvida, tentativas
+ * e latência da geração, latência da validação e da resolução.
+ * <p>
+ * Ficam desligadas por padrão e são ligadas com {@code -Dtabuleiro.metrics=true}. A chave é lida
+ * uma vez numa constante ({@link #ENABLED}), então com as métricas desligadas o JIT remove os
+ * testes {@code if (Metrics.ENABLED)} e as chamadas a {@link System#nanoTime()} dos caminhos
+ * medidos: o custo é nulo. Ligadas, os contadores são {@link LongAdder} e as latências vão para
+ * {@link LatencyHistogram}s, sem locks nem alocação por medida.
+ * <p>
+ * A leitura é feita por JMX ({@link MetricsMXBean}, registrado automaticamente) ou pelo texto de
+ * {@link #report()}, que pode ser impresso periodicamente com {@link #startDump(PrintStream, long)}.
+ */
+public final class Metrics {
+
+    /** Se as métricas estão ligadas ({@code -Dtabuleiro.metrics=true}). */
+    public static final boolean ENABLED = Boolean.getBoolean("tabuleiro.metrics");
+
+    private static final Mensagem[] MENSAGENS = Mensagem.values();
+    private static final LongAdder[] MENSAGEM_COUNTS = new LongAdder[MENSAGENS.length];
+    private static final LongAdder GENERATED = new LongAdder();
+    private static final LongAdder CHECKS = new LongAdder();
+    private static final LongAdder REJECTED = new LongAdder();
+    private static final LatencyHistogram VALIDATION = new LatencyHistogram();
+    private static final LatencyHistogram GENERATION = new LatencyHistogram();
+    private static final LatencyHistogram SOLVE = new LatencyHistogram();
+
+    static {
+        for (int i = 0; i < MENSAGEM_COUNTS.length; i++) {
+            MENSAGEM_COUNTS[i] = new LongAdder();
+        }
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .registerMBean(new View(), new ObjectName("tabuleiro:type=Metrics"));
+            } catch (JMException e) {
+                System.err.println("Não foi possível registrar as métricas no JMX: " + e.getMessage());
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Conta uma {@link Mensagem} devolvida a uma jogada.
+     */
+    static void mensagem(Mensagem mensagem) {
+        MENSAGEM_COUNTS[mensagem.ordinal()].increment();
+    }
+
+    /**
+     * Conta o resultado de uma validação e registra a sua duração.
+     */
+    static void validation(Mensagem mensagem, long nanos) {
+        MENSAGEM_COUNTS[mensagem.ordinal()].increment();
+        VALIDATION.record(nanos);
+    }
+
+    /**
+     * Registra a geração de um tabuleiro.
+     *
+     * @param checks   {@code int} - Testes de unicidade feitos (tentativas de remover pista).
+     * @param rejected {@code int} - Remoções desfeitas por deixarem a solução ambígua.
+     * @param nanos    {@code long} - Duração da geração.
+     */
+    static void generation(int checks, int rejected, long nanos) {
+        GENERATED.increment();
+        CHECKS.add(checks);
+        REJECTED.add(rejected);
+        GENERATION.record(nanos);
+    }
+
+    /**
+     * Registra a duração de uma resolução.
+     */
+    static void solve(long nanos) {
+        SOLVE.record(nanos);
+    }
+
+    public static long getCount(Mensagem mensagem) {
+        return MENSAGEM_COUNTS[mensagem.ordinal()].sum();
+    }
+
+    public static long getGeneratedBoards() {
+        return GENERATED.sum();
+    }
+
+    public static long getUniquenessChecks() {
+        return CHECKS.sum();
+    }
+
+    public static long getRejectedRemovals() {
+        return REJECTED.sum();
+    }
+
+    public static LatencyHistogram getValidationLatency() {
+        return VALIDATION;
+    }
+
+    public static LatencyHistogram getGenerationLatency() {
+        return GENERATION;
+    }
+
+    public static LatencyHistogram getSolveLatency() {
+        return SOLVE;
+    }
+
+    /**
+     * Zera todos os contadores e histogramas.
+     */
+    public static void reset() {
+        for (LongAdder counter : MENSAGEM_COUNTS) {
+            counter.reset();
+        }
+        GENERATED.reset();
+        CHECKS.reset();
+        REJECTED.reset();
+        VALIDATION.reset();
+        GENERATION.reset();
+        SOLVE.reset();
+    }
+
+    /**
+     * Texto com todas as métricas, uma linha por grupo.
+     */
+    public static String report() {
+        StringBuilder out = new StringBuilder("mensagens:");
+        for (Mensagem mensagem : MENSAGENS) {
+            out.append(' ').append(mensagem.name()).append('=').append(getCount(mensagem));
+        }
+        long generated = getGeneratedBoards();
+        out.append(String.format("%ngeração: %d tabuleiros, %d testes de unicidade (%.1f por tabuleiro), %d remoções desfeitas",
+                generated, getUniquenessChecks(), generated == 0 ? 0.0 : (double) getUniquenessChecks() / generated,
+                getRejectedRemovals()));
+        out.append("\nlatência da validação: ").append(VALIDATION);
+        out.append("\nlatência da geração: ").append(GENERATION);
+        out.append("\nlatência da resolução: ").append(SOLVE);
+        return out.toString();
+    }
+
+    /**
+     * Imprime {@link #report()} a cada {@code periodSeconds} segundos, numa thread daemon.
+     *
+     * @param out           {@code PrintStream} - Destino do relatório.
+     * @param periodSeconds {@code long} - Intervalo entre relatórios.
+     * @return {@code ScheduledExecutorService} - Agendador, para ser encerrado com {@code shutdown()}.
+     */
+    public static ScheduledExecutorService startDump(PrintStream out, long periodSeconds) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "tabuleiro-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.println(report()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    /** Implementação do {@link MetricsMXBean} sobre os campos estáticos. */
+    private static final class View implements MetricsMXBean {
+
+        @Override
+        public Map<String, Long> getMensagens() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (Mensagem mensagem : MENSAGENS) {
+                counts.put(mensagem.name(), getCount(mensagem));
+            }
+            return counts;
+        }
+
+        @Override
+        public long getGeneratedBoards() {
+            return Metrics.getGeneratedBoards();
+        }
+
+        @Override
+        public long getUniquenessChecks() {
+            return Metrics.getUniquenessChecks();
+        }
+
+        @Override
+        public long getRejectedRemovals() {
+            return Metrics.getRejectedRemovals();
+        }
+
+        @Override
+        public double getValidationP50Micros() {
+            return VALIDATION.getValueAtPercentile(50) / 1e3;
+        }
+
+        @Override
+        public double getValidationP99Micros() {
+            return VALIDATION.getValueAtPercentile(99) / 1e3;
+        }
+
+        @Override
+        public double getGenerationP50Micros() {
+            return GENERATION.getValueAtPercentile(50) / 1e3;
+        }
+
+        @Override
+        public double getGenerationP99Micros() {
+            return GENERATION.getValueAtPercentile(99) / 1e3;
+        }
+
+        @Override
+        public double getGenerationMaxMicros() {
+            return GENERATION.getMax() / 1e3;
+        }
+
+        @Override
+        public double getSolveP50Micros() {
+            return SOLVE.getValueAtPercentile(50) / 1e3;
+        }
+
+        @Override
+        public double getSolveP99Micros() {
+            return SOLVE.getValueAtPercentile(99) / 1e3;
+        }
+
+        @Override
+        public double getSolveMaxMicros() {
+            return SOLVE.getMax() / 1e3;
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
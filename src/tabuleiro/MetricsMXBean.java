@@ -0,0 +1,40 @@
+package tabuleiro;
+
+import java.util.Map;
+
+/**
+ * Visão JMX das {@link Metrics}, registrada como {@code tabuleiro:type=Metrics} quando as métricas
+ * estão ligadas. Latências em microssegundos.
+ */
+public interface MetricsMXBean {
+
+    /** Quantidade de cada {@link Mensagem} devolvida às jogadas, pelo nome da constante. */
+    Map<String, Long> getMensagens();
+
+    long getGeneratedBoards();
+
+    /** Testes de unicidade feitos pelos geradores (uma tentativa de remover pista cada). */
+    long getUniquenessChecks();
+
+    /** Tentativas de remover pista desfeitas porque a solução deixaria de ser única. */
+    long getRejectedRemovals();
+
+    double getValidationP50Micros();
+
+    double getValidationP99Micros();
+
+    double getGenerationP50Micros();
+
+    double getGenerationP99Micros();
+
+    double getGenerationMaxMicros();
+
+    double getSolveP50Micros();
+
+    double getSolveP99Micros();
+
+    double getSolveMaxMicros();
+
+    /** Zera todos os contadores e histogramas. */
+    void reset();
+}
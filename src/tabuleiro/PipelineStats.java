@@ -0,0 +1,73 @@
+package tabuleiro;
+
+/**
+ * Resultado de uma execução do {@link SolvePipeline}: vazão sustentada, ocupação de cada
+ * etapa e quantos tabuleiros terminaram em cada estado de {@link BoardBatch}.
+ * <p>
+ * A ocupação de uma etapa é o tempo em que as suas threads estiveram trabalhando (sem contar
+ * a espera nas filas) dividido pelo tempo total vezes a quantidade de threads da etapa.
+ * A etapa perto de 100% é o gargalo; as demais passam parte do tempo bloqueadas pela contrapressão.
+ */
+public class PipelineStats {
+
+    private final long boards;
+    private final long elapsedNanos;
+    private final String[] stages;
+    private final int[] workers;
+    private final long[] busyNanos;
+    private final long[] outcomes;
+
+    PipelineStats(long boards, long elapsedNanos, String[] stages, int[] workers, long[] busyNanos, long[] outcomes) {
+        this.boards = boards;
+        this.elapsedNanos = elapsedNanos;
+        this.stages = stages;
+        this.workers = workers;
+        this.busyNanos = busyNanos;
+        this.outcomes = outcomes;
+    }
+
+    public long getBoards() {
+        return boards;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Vazão média da execução em tabuleiros por segundo.
+     */
+    public double getBoardsPerSecond() {
+        return elapsedNanos == 0 ? 0 : boards * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Ocupação da etapa {@code stage} (0 a 1), na ordem leitura, validação, resolução e escrita.
+     */
+    public double getUtilization(int stage) {
+        return elapsedNanos == 0 ? 0 : (double) busyNanos[stage] / ((double) elapsedNanos * workers[stage]);
+    }
+
+    /**
+     * Quantidade de tabuleiros que terminaram no estado informado ({@link BoardBatch#CONFLITO}, ...).
+     */
+    public long getCount(byte status) {
+        return outcomes[status];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%d tabuleiros em %.3f s: %.0f tabuleiros/s%netapas:",
+                boards, elapsedNanos / 1e9, getBoardsPerSecond()));
+        for (int stage = 0; stage < stages.length; stage++) {
+            text.append(stage == 0 ? " " : " | ").append(stages[stage])
+                    .append(String.format(" %.0f%%", 100 * getUtilization(stage)));
+            if (workers[stage] > 1) {
+                text.append(" (").append(workers[stage]).append(" threads)");
+            }
+        }
+        return text.append(String.format("%nconflitos: %d | já completos: %d | resolvidos: %d | sem solução: %d",
+                outcomes[BoardBatch.CONFLITO], outcomes[BoardBatch.COMPLETO],
+                outcomes[BoardBatch.RESOLVIDO], outcomes[BoardBatch.SEM_SOLUCAO])).toString();
+    }
+}
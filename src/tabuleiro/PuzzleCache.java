@@ -0,0 +1,181 @@
+package tabuleiro;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado de tabuleiros já resolvidos e avaliados, indexado pela impressão digital
+ * da {@link CanonicalForm}. Um tabuleiro repetido, ou só transformado (dígitos trocados,
+ * linhas, colunas, faixas ou pilhas permutadas, transposto), reaproveita a solução e a
+ * {@link Rating} do primeiro em vez de passar de novo pelo {@link Solver} e pelo {@link LogicalSolver}.
+ * <p>
+ * A solução fica guardada na orientação canônica e é levada de volta para a orientação de
+ * cada tabuleiro consultado; a avaliação é feita sobre a forma canônica, então é a mesma
+ * para todos os tabuleiros equivalentes.
+ * <p>
+ * As entradas são divididas em segmentos, cada um um {@link LinkedHashMap} em ordem de acesso
+ * com o seu próprio lock: ao encher, um segmento descarta a entrada usada há mais tempo (LRU).
+ * A classe é thread-safe.
+ */
+public class PuzzleCache {
+
+    private static final int SEGMENTS = 16;
+
+    private static final ThreadLocal<Worker> WORKERS = ThreadLocal.withInitial(Worker::new);
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity {@code int} - Número máximo de tabuleiros guardados (dividido entre os segmentos).
+     */
+    public PuzzleCache(int capacity) {
+        if (capacity < SEGMENTS) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser pelo menos " + SEGMENTS + ".");
+        }
+        this.capacity = capacity;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(capacity / SEGMENTS + (i < capacity % SEGMENTS ? 1 : 0));
+        }
+    }
+
+    /**
+     * Resolve e avalia o tabuleiro, usando o cache quando um tabuleiro equivalente já foi visto.
+     *
+     * @param puzzle   {@code byte[]} - 81 células (0 para vazio); não é alterado.
+     * @param solution {@code byte[]} - Recebe a solução, na orientação de {@code puzzle}.
+     * @return {@code Rating} - Avaliação do tabuleiro, ou {@code null} se ele não tiver solução.
+     */
+    public Rating solve(byte[] puzzle, byte[] solution) {
+        Worker worker = WORKERS.get();
+        CanonicalForm form = worker.form;
+        if (!worker.canonicalizer.canonicalize(puzzle, form)) {
+            // Simétrico demais para a forma canônica: resolve sem cache
+            misses.increment();
+            return worker.solver.solveCells(puzzle, solution) ? worker.rater.rate(puzzle) : null;
+        }
+
+        Entry entry = segment(form).get(form);
+        if (entry != null) {
+            hits.increment();
+            form.fromCanonical(entry.solution, solution);
+            return entry.rating;
+        }
+
+        misses.increment();
+        if (!worker.solver.solveCells(form.cells, worker.canonicalSolution)) {
+            return null;
+        }
+        entry = new Entry(form.getLow(), worker.canonicalSolution.clone(), worker.rater.rate(form.cells));
+        segment(form).put(form.getHigh(), entry);
+        form.fromCanonical(entry.solution, solution);
+        return entry.rating;
+    }
+
+    /**
+     * Resolve e avalia os números iniciais do tabuleiro (ver {@link #solve(byte[], byte[])}).
+     */
+    public Rating solve(Board board, byte[] solution) {
+        return solve(board.cells(), solution);
+    }
+
+    /**
+     * Indica se um tabuleiro equivalente já está no cache (a consulta conta como uso da entrada).
+     * Serve para descartar tabuleiros repetidos na geração.
+     *
+     * @param puzzle {@code byte[]} - 81 células (0 para vazio); não é alterado.
+     * @return {@code boolean} - {@code true} se um tabuleiro equivalente já foi resolvido.
+     */
+    public boolean contains(byte[] puzzle) {
+        Worker worker = WORKERS.get();
+        CanonicalForm form = worker.form;
+        return worker.canonicalizer.canonicalize(puzzle, form) && segment(form).get(form) != null;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Quantidade de tabuleiros guardados no momento.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        long hit = getHits();
+        long total = hit + getMisses();
+        return String.format("cache: %d/%d tabuleiros, %d acertos em %d consultas (%.1f%%)",
+                size(), capacity, hit, total, total == 0 ? 0.0 : 100.0 * hit / total);
+    }
+
+    private Segment segment(CanonicalForm form) {
+        return segments[(int) (form.getHigh() >>> 60)];
+    }
+
+    /** Solução canônica e avaliação; {@code low} confirma a impressão digital junto com a chave. */
+    private static final class Entry {
+        final long low;
+        final byte[] solution;
+        final Rating rating;
+
+        Entry(long low, byte[] solution, Rating rating) {
+            this.low = low;
+            this.solution = solution;
+            this.rating = rating;
+        }
+    }
+
+    /** Segmento LRU: mapa em ordem de acesso que descarta a entrada mais antiga ao passar da capacidade. */
+    private static final class Segment {
+        private final Map<Long, Entry> entries;
+
+        Segment(int capacity) {
+            entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Entry get(CanonicalForm form) {
+            Entry entry = entries.get(form.getHigh());
+            return entry != null && entry.low == form.getLow() ? entry : null;
+        }
+
+        synchronized void put(long high, Entry entry) {
+            entries.put(high, entry);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    /** Vetores de trabalho de cada thread. */
+    private static final class Worker {
+        final Canonicalizer canonicalizer = new Canonicalizer();
+        final CanonicalForm form = new CanonicalForm();
+        final Solver solver = new Solver();
+        final LogicalSolver rater = new LogicalSolver();
+        final byte[] canonicalSolution = new byte[81];
+    }
+}
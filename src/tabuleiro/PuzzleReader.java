@@ -0,0 +1,145 @@
+package tabuleiro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Leitor sequencial de arquivos de tabuleiros no formato padrão de 81 caracteres por linha
+ * ({@code '.'} ou {@code '0'} para vazio, {@code '1'} a {@code '9'} para os números).
+ * <p>
+ * O arquivo é mapeado em memória em janelas de até {@value #WINDOW} bytes, então arquivos
+ * maiores que 2 GB também funcionam. Cada linha é decodificada direto para um vetor de
+ * 81 células ou para um {@link Board} reaproveitado pelo chamador, sem criar {@code String}s.
+ * Linhas vazias são ignoradas e {@code "\r\n"} é aceito como fim de linha.
+ * <p>
+ * Uma instância não é thread-safe.
+ */
+public class PuzzleReader implements Closeable {
+
+    /** Tamanho máximo de cada janela mapeada. */
+    static final int WINDOW = 1 << 26;
+    /** Maior linha válida: 81 células mais {@code "\r\n"}. */
+    private static final int MAX_LINE = 83;
+
+    /** Tabela de decodificação: dígito da célula, ou {@code -1} para caractere inválido. */
+    private static final byte[] DECODE = new byte[256];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        DECODE['.'] = 0;
+        DECODE['0'] = 0;
+        for (int digit = 1; digit <= 9; digit++) {
+            DECODE['0' + digit] = (byte) digit;
+        }
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final byte[] cells = new byte[81];
+    private MappedByteBuffer buffer;
+    private long windowStart;
+    private long lineNumber;
+
+    private PuzzleReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        map(0);
+    }
+
+    /**
+     * Abre o arquivo para leitura.
+     *
+     * @param path {@code Path} - Arquivo de tabuleiros.
+     * @return {@code PuzzleReader} - Leitor posicionado no início do arquivo.
+     * @throws IOException se o arquivo não puder ser aberto.
+     */
+    public static PuzzleReader open(Path path) throws IOException {
+        return new PuzzleReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Lê o próximo tabuleiro e o carrega como jogo inicial de {@code board}.
+     *
+     * @param board {@code Board} - Tabuleiro reaproveitado que recebe as pistas.
+     * @return {@code boolean} - {@code false} quando o arquivo termina.
+     * @throws IOException se a leitura falhar.
+     * @throws ErroNum se a linha não tiver 81 células válidas.
+     */
+    public boolean next(Board board) throws IOException {
+        if (!next(cells)) {
+            return false;
+        }
+        board.loadGivens(cells);
+        return true;
+    }
+
+    /**
+     * Lê o próximo tabuleiro para um vetor de 81 células (0 para vazio).
+     *
+     * @param out {@code byte[]} - Vetor reaproveitado que recebe as células.
+     * @return {@code boolean} - {@code false} quando o arquivo termina.
+     * @throws IOException se a leitura falhar.
+     * @throws ErroNum se a linha não tiver 81 células válidas.
+     */
+    public boolean next(byte[] out) throws IOException {
+        while (true) {
+            if (buffer.remaining() < MAX_LINE && windowStart + buffer.limit() < size) {
+                map(windowStart + buffer.position());
+            }
+            if (!buffer.hasRemaining()) {
+                return false;
+            }
+            byte first = buffer.get(buffer.position());
+            if (first == '\n' || first == '\r') {
+                buffer.get();
+                if (first == '\n') {
+                    lineNumber++;
+                }
+                continue;
+            }
+            lineNumber++;
+            for (int index = 0; index < 81; index++) {
+                if (!buffer.hasRemaining()) {
+                    throw new ErroNum("Linha " + lineNumber + ": esperadas 81 células, encontradas " + index + ".");
+                }
+                byte digit = DECODE[buffer.get() & 0xFF];
+                if (digit < 0) {
+                    throw new ErroNum("Linha " + lineNumber + ": caractere inválido na posição " + (index + 1) + ".");
+                }
+                out[index] = digit;
+            }
+            if (buffer.hasRemaining()) {
+                byte end = buffer.get();
+                if (end == '\r' && buffer.hasRemaining()) {
+                    end = buffer.get();
+                }
+                if (end != '\n' && end != '\r') {
+                    throw new ErroNum("Linha " + lineNumber + ": a linha deve ter exatamente 81 células.");
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Número da última linha lida (começando em 1), útil para mensagens de erro.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW, size - position));
+    }
+}
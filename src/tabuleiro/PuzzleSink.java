@@ -0,0 +1,23 @@
+package tabuleiro;
+
+/**
+ * Destino dos tabuleiros produzidos em lote pelo {@link BatchGenerator}.
+ * <p>
+ * Em {@link BatchGenerator#generate} é chamado ao mesmo tempo por várias threads, então a
+ * implementação deve ser thread-safe; em {@link BatchGenerator#generateOrdered}, só pela thread
+ * que pediu o lote, em ordem de índice.
+ * O {@link Board} recebido é reaproveitado pela thread que o gerou: quem precisar
+ * guardá-lo deve copiar os valores antes de retornar.
+ */
+@FunctionalInterface
+public interface PuzzleSink {
+
+    /**
+     * Recebe um tabuleiro gerado.
+     *
+     * @param index  {@code long} - Posição do tabuleiro no lote (0 a N-1); o mesmo índice
+     *               sempre corresponde ao mesmo tabuleiro para a mesma semente mestre.
+     * @param puzzle {@code Board} - Tabuleiro gerado, com os números iniciais carregados.
+     */
+    void accept(long index, Board puzzle);
+}
@@ -0,0 +1,581 @@
+package tabuleiro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Inventário local de jogos prontos, gravado em disco, para entregar um jogo novo sem gerá-lo
+ * na hora: um sorteio por nível é um acesso a um vetor em memória e uma leitura de 64 bytes.
+ * <p>
+ * Os jogos ficam em arquivos de segmento ({@code segment-000000.sdi}, ...) só com acréscimos, cada
+ * um com até {@value #SEGMENT_RECORDS} registros de tamanho fixo, o que dá a posição de qualquer
+ * registro pelo id. Layout (inteiros em big-endian):
+ * <pre>
+ *   cabeçalho (16 B): u16 MAGIC ('S', 'I'), u8 versão, u8 reservado, u32 registros por segmento,
+ *                     u32 número do segmento, u32 reservado
+ *   registro  (64 B): 41 B células, 4 bits cada | u8 nível | u8 pistas | u8 flags |
+ *                     2 x u64 impressão digital canônica | u32 CRC-32C dos 60 bytes anteriores
+ * </pre>
+ * Ao abrir, os segmentos são lidos em sequência e os índices montados em memória: ids por nível
+ * ({@link Dificuldade}), por nível e quantidade de pistas e pela impressão digital da
+ * {@link CanonicalForm}. Um jogo equivalente a outro já guardado (a menos de troca de dígitos,
+ * permutações e transposição) não é gravado de novo. Um registro incompleto ou corrompido no fim
+ * do último segmento, deixado por uma gravação interrompida, é descartado; no meio dos dados, é erro.
+ * <p>
+ * As gravações só chegam ao disco com certeza depois de {@link #flush()} ou {@link #close()}.
+ * A instância é thread-safe: gravações e sorteios trocam o índice sob um lock curto e as leituras
+ * dos registros são feitas fora dele, com leituras posicionais no canal do segmento.
+ */
+public final class PuzzleStore implements Closeable {
+
+    private static final short MAGIC = 0x5349;
+    private static final byte VERSION = 1;
+
+    static final int HEADER = 16;
+    static final int RECORD = 64;
+    /** Registros por segmento de um inventário novo: segmentos de 64 MiB. */
+    static final int SEGMENT_RECORDS = 1 << 20;
+    /** Tamanho das leituras em bloco de {@link #scan(Visitor)} e da abertura. */
+    static final int SCAN_BUFFER = 1 << 20;
+
+    private static final int TIER = 41;
+    private static final int CLUES = 42;
+    private static final int FLAGS = 43;
+    private static final int HIGH = 44;
+    private static final int LOW = 52;
+    private static final int CRC = 60;
+    /** O registro tem impressão digital canônica (o tabuleiro não era simétrico demais, ver {@link Canonicalizer}). */
+    private static final int FLAG_CANONICAL = 1;
+
+    private static final Dificuldade[] TIERS = Dificuldade.values();
+
+    /** Vetores de trabalho de {@link #read(int, byte[])} e {@link #draw}, por thread: sortear um jogo não aloca nada. */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private static final class Scratch {
+        final byte[] record = new byte[RECORD];
+        final ByteBuffer buffer = ByteBuffer.wrap(record);
+        final byte[] puzzle = new byte[81];
+        final CRC32C checksum = new CRC32C();
+    }
+
+    /**
+     * Recebe os jogos percorridos por {@link #scan(Visitor)}.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * @param id     {@code int} - Id do jogo no inventário.
+         * @param puzzle {@code byte[]} - 81 células (0 para vazio); reaproveitado no próximo jogo.
+         * @param tier   {@code Dificuldade} - Nível do jogo.
+         * @param clues  {@code int} - Quantidade de pistas.
+         * @throws IOException se o destino dos jogos falhar.
+         */
+        void accept(int id, byte[] puzzle, Dificuldade tier, int clues) throws IOException;
+    }
+
+    private final Path directory;
+    private int segmentRecords;
+    /** Canais dos segmentos; trocado por uma cópia maior a cada segmento novo. */
+    private volatile FileChannel[] segments = new FileChannel[0];
+    /** Quantidade de jogos; só cresce, sob o lock da instância. */
+    private volatile int size;
+
+    private final int[][] tierIds = new int[TIERS.length][];
+    private final int[] tierSize = new int[TIERS.length];
+    /** Ids por nível e pistas, na posição {@code nível * 82 + pistas}, criados quando aparece o primeiro. */
+    private final int[][] clueIds = new int[TIERS.length * 82][];
+    private final int[] clueSize = new int[TIERS.length * 82];
+
+    // Índice pela impressão digital canônica: endereçamento aberto, ids guardados como id + 1 (0 é vazio)
+    private long[] hashHigh = new long[1024];
+    private long[] hashLow = new long[1024];
+    private int[] hashIds = new int[1024];
+    private int hashCount;
+
+    private final Canonicalizer canonicalizer = new Canonicalizer();
+    private final CanonicalForm form = new CanonicalForm();
+    private final byte[] record = new byte[RECORD];
+    private final CRC32C crc = new CRC32C();
+
+    private PuzzleStore(Path directory, int segmentRecords) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        for (int tier = 0; tier < TIERS.length; tier++) {
+            tierIds[tier] = new int[64];
+        }
+    }
+
+    /**
+     * Abre o inventário do diretório, criando-o se não existir, e monta os índices.
+     *
+     * @param directory {@code Path} - Diretório dos segmentos.
+     * @return {@code PuzzleStore} - Inventário aberto.
+     * @throws IOException se a leitura falhar.
+     * @throws ErroNum se um segmento estiver corrompido.
+     */
+    public static PuzzleStore open(Path directory) throws IOException {
+        return open(directory, SEGMENT_RECORDS);
+    }
+
+    /**
+     * Como {@link #open(Path)}, com outro tamanho de segmento para um inventário novo (um
+     * inventário existente mantém o tamanho com que foi criado).
+     */
+    static PuzzleStore open(Path directory, int segmentRecords) throws IOException {
+        if (segmentRecords < 1) {
+            throw new IllegalArgumentException("Um segmento precisa de espaço para pelo menos um jogo.");
+        }
+        Files.createDirectories(directory);
+        PuzzleStore store = new PuzzleStore(directory, segmentRecords);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Guarda um jogo, a menos que um equivalente já esteja no inventário.
+     *
+     * @param puzzle {@code byte[]} - 81 células (0 para vazio).
+     * @param tier   {@code Dificuldade} - Nível do jogo (normalmente o de {@link LogicalSolver#rate(byte[])}).
+     * @return {@code int} - Id do jogo gravado, ou {@code -1} se um equivalente já estava guardado.
+     * @throws IOException se a gravação falhar.
+     */
+    public synchronized int append(byte[] puzzle, Dificuldade tier) throws IOException {
+        if (puzzle.length != 81) {
+            throw new IllegalArgumentException("O tabuleiro deve ter 81 células.");
+        }
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Inventário cheio.");
+        }
+        int clues = 0;
+        for (byte digit : puzzle) {
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Célula com valor fora de 0 a 9: " + digit);
+            }
+            if (digit != Board.EMPTY) {
+                clues++;
+            }
+        }
+        boolean canonical = canonicalizer.canonicalize(puzzle, form);
+        if (canonical && lookup(form.high, form.low) >= 0) {
+            return -1;
+        }
+
+        BoardCodec.putNibbles(record, 0, puzzle);
+        record[TIER] = (byte) tier.ordinal();
+        record[CLUES] = (byte) clues;
+        record[FLAGS] = (byte) (canonical ? FLAG_CANONICAL : 0);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putLong(HIGH, canonical ? form.high : 0);
+        buffer.putLong(LOW, canonical ? form.low : 0);
+        crc.reset();
+        crc.update(record, 0, CRC);
+        buffer.putInt(CRC, (int) crc.getValue());
+
+        int id = size;
+        int segment = id / segmentRecords;
+        if (segment == segments.length) {
+            addSegment(segment);
+        }
+        FileChannel channel = segments[segment];
+        long position = HEADER + (long) (id % segmentRecords) * RECORD;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        index(id, tier.ordinal(), clues, canonical, form.high, form.low);
+        size = id + 1;
+        return id;
+    }
+
+    /**
+     * Sorteia um jogo do nível.
+     *
+     * @param tier   {@code Dificuldade} - Nível desejado.
+     * @param random {@code long} - Valor aleatório qualquer (uma semente, um contador); é embaralhado antes do sorteio.
+     * @return {@code int} - Id do jogo sorteado, ou {@code -1} se o nível não tiver jogos.
+     */
+    public synchronized int pick(Dificuldade tier, long random) {
+        int count = tierSize[tier.ordinal()];
+        return count == 0 ? -1 : tierIds[tier.ordinal()][choose(random, count)];
+    }
+
+    /**
+     * Sorteia um jogo do nível com exatamente {@code clues} pistas.
+     *
+     * @return {@code int} - Id do jogo sorteado, ou {@code -1} se não houver nenhum assim.
+     */
+    public synchronized int pick(Dificuldade tier, int clues, long random) {
+        if (clues < 0 || clues > 81) {
+            return -1;
+        }
+        int key = tier.ordinal() * 82 + clues;
+        int count = clueSize[key];
+        return count == 0 ? -1 : clueIds[key][choose(random, count)];
+    }
+
+    /**
+     * Sorteia um jogo do nível e o carrega no tabuleiro, como um {@link Board#startingGame(long, Dificuldade)}
+     * sem o custo da geração.
+     *
+     * @param tier   {@code Dificuldade} - Nível desejado.
+     * @param random {@code long} - Valor aleatório qualquer, como em {@link #pick(Dificuldade, long)}.
+     * @param board  {@code Board} - Tabuleiro que recebe o jogo.
+     * @return {@code boolean} - {@code false} se o nível não tiver jogos (o tabuleiro não é alterado).
+     * @throws IOException se a leitura falhar.
+     */
+    public boolean draw(Dificuldade tier, long random, Board board) throws IOException {
+        int id = pick(tier, random);
+        if (id < 0) {
+            return false;
+        }
+        byte[] puzzle = SCRATCH.get().puzzle;
+        read(id, puzzle);
+        board.loadGivens(puzzle);
+        return true;
+    }
+
+    /**
+     * Lê um jogo pelo id.
+     *
+     * @param id  {@code int} - Id devolvido por {@link #append} ou {@link #pick}.
+     * @param out {@code byte[]} - Recebe as 81 células.
+     * @return {@code Dificuldade} - Nível do jogo.
+     * @throws IOException se a leitura falhar.
+     * @throws ErroNum se o registro estiver corrompido.
+     */
+    public Dificuldade read(int id, byte[] out) throws IOException {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Jogo " + id + " não existe no inventário.");
+        }
+        Scratch scratch = SCRATCH.get();
+        byte[] bytes = scratch.record;
+        ByteBuffer buffer = scratch.buffer.clear();
+        FileChannel channel = segments[id / segmentRecords];
+        long position = HEADER + (long) (id % segmentRecords) * RECORD;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw invalid("registro " + id + " incompleto");
+            }
+        }
+        if (!intact(bytes, 0, scratch.checksum)) {
+            throw invalid("registro " + id + " corrompido");
+        }
+        BoardCodec.getNibbles(bytes, 0, out);
+        return TIERS[bytes[TIER]];
+    }
+
+    /**
+     * Procura um jogo equivalente (mesma forma canônica) ao informado.
+     *
+     * @param puzzle {@code byte[]} - 81 células (0 para vazio).
+     * @return {@code int} - Id do jogo equivalente, ou {@code -1} se não houver.
+     */
+    public synchronized int find(byte[] puzzle) {
+        return canonicalizer.canonicalize(puzzle, form) ? lookup(form.high, form.low) : -1;
+    }
+
+    /**
+     * Percorre, em ordem de id, todos os jogos guardados até o início da chamada, lendo os
+     * segmentos em blocos de {@value #SCAN_BUFFER} bytes.
+     *
+     * @param visitor {@code Visitor} - Recebe cada jogo.
+     * @throws IOException se a leitura falhar ou o visitante lançar.
+     * @throws ErroNum se um registro estiver corrompido.
+     */
+    public void scan(Visitor visitor) throws IOException {
+        int end = size;
+        FileChannel[] channels = segments;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SCAN_BUFFER - SCAN_BUFFER % RECORD);
+        byte[] bytes = new byte[RECORD];
+        byte[] puzzle = new byte[81];
+        CRC32C checksum = new CRC32C();
+        for (int id = 0; id < end; ) {
+            FileChannel channel = channels[id / segmentRecords];
+            int segmentEnd = Math.min(end, (id / segmentRecords + 1) * segmentRecords);
+            long position = HEADER + (long) (id % segmentRecords) * RECORD;
+            buffer.clear().limit(Math.min(buffer.capacity(), (segmentEnd - id) * RECORD));
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw invalid("segmento " + id / segmentRecords + " incompleto");
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                buffer.get(bytes);
+                if (!intact(bytes, 0, checksum)) {
+                    throw invalid("registro " + id + " corrompido");
+                }
+                BoardCodec.getNibbles(bytes, 0, puzzle);
+                visitor.accept(id++, puzzle, TIERS[bytes[TIER]], bytes[CLUES]);
+            }
+        }
+    }
+
+    /**
+     * Quantidade de jogos no inventário.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Quantidade de jogos do nível.
+     */
+    public synchronized int count(Dificuldade tier) {
+        return tierSize[tier.ordinal()];
+    }
+
+    /**
+     * Quantidade de jogos do nível com exatamente {@code clues} pistas.
+     */
+    public synchronized int count(Dificuldade tier, int clues) {
+        return clues < 0 || clues > 81 ? 0 : clueSize[tier.ordinal() * 82 + clues];
+    }
+
+    /**
+     * Garante que os jogos já gravados estão no disco.
+     *
+     * @throws IOException se a sincronização falhar.
+     */
+    public synchronized void flush() throws IOException {
+        FileChannel[] channels = segments;
+        if (channels.length > 0) {
+            channels[channels.length - 1].force(false);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        FileChannel[] channels = segments;
+        for (int i = 0; i < channels.length; i++) {
+            try {
+                if (i == channels.length - 1) {
+                    channels[i].force(false);
+                }
+                channels[i].close();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        segments = new FileChannel[0];
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder().append(size).append(" jogos no inventário:");
+        for (Dificuldade tier : TIERS) {
+            text.append(tier == TIERS[0] ? " " : " | ").append(tier.getDescricao()).append(' ')
+                    .append(tierSize[tier.ordinal()]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Abre os segmentos existentes em ordem e monta os índices; sem segmentos, cria o primeiro.
+     */
+    private void load() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SCAN_BUFFER - SCAN_BUFFER % RECORD);
+        byte[] bytes = new byte[RECORD];
+        CRC32C checksum = new CRC32C();
+        for (int segment = 0; Files.exists(segmentPath(segment)); segment++) {
+            if (segment > 0 && size != segment * segmentRecords) {
+                throw invalid("segmento " + (segment - 1) + " incompleto antes do segmento " + segment);
+            }
+            FileChannel channel = openSegment(segment, false);
+            boolean last = !Files.exists(segmentPath(segment + 1));
+            long records = (channel.size() - HEADER) / RECORD;
+            if (records > segmentRecords) {
+                throw invalid("segmento " + segment + " com mais registros que o limite");
+            }
+            long position = HEADER;
+            for (long done = 0; done < records; ) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), (records - done) * RECORD));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+                while (buffer.remaining() >= RECORD) {
+                    buffer.get(bytes);
+                    if (!intact(bytes, 0, checksum)) {
+                        // só o último registro do último segmento pode ter sido deixado por uma gravação interrompida
+                        if (!last || done != records - 1 || (channel.size() - HEADER) % RECORD != 0) {
+                            throw invalid("registro " + size + " corrompido");
+                        }
+                        records = done;
+                        break;
+                    }
+                    ByteBuffer record = ByteBuffer.wrap(bytes);
+                    index(size++, bytes[TIER], bytes[CLUES], (bytes[FLAGS] & FLAG_CANONICAL) != 0,
+                            record.getLong(HIGH), record.getLong(LOW));
+                    done++;
+                }
+                position = HEADER + done * RECORD;
+            }
+            long length = HEADER + records * RECORD;
+            if (channel.size() != length) {
+                if (!last) {
+                    throw invalid("segmento " + segment + " com registro incompleto");
+                }
+                channel.truncate(length);
+            }
+        }
+        if (segments.length == 0) {
+            addSegment(0);
+        }
+    }
+
+    /**
+     * Abre um segmento existente (conferindo o cabeçalho) ou cria um novo.
+     */
+    private FileChannel openSegment(int segment, boolean create) throws IOException {
+        FileChannel channel = create
+                ? FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(segmentPath(segment), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel[] extended = Arrays.copyOf(segments, segments.length + 1);
+        extended[segment] = channel;
+        segments = extended;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        if (create) {
+            header.putShort(MAGIC).put(VERSION).put((byte) 0).putInt(segmentRecords).putInt(segment).putInt(0).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            return channel;
+        }
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw invalid("segmento " + segment + " sem cabeçalho");
+            }
+        }
+        header.flip();
+        if (header.getShort() != MAGIC) {
+            throw invalid("segmento " + segment + " não é um segmento de inventário");
+        }
+        byte version = header.get();
+        if (version != VERSION) {
+            throw invalid("versão " + version + " desconhecida no segmento " + segment);
+        }
+        header.get();
+        int records = header.getInt();
+        if (segment == 0) {
+            segmentRecords = records;
+        }
+        if (records != segmentRecords || records < 1 || header.getInt() != segment) {
+            throw invalid("cabeçalho do segmento " + segment + " não confere");
+        }
+        return channel;
+    }
+
+    private void addSegment(int segment) throws IOException {
+        if (segment > 0) {
+            segments[segment - 1].force(false); // o segmento anterior não recebe mais gravações
+        }
+        openSegment(segment, true);
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("segment-%06d.sdi", segment));
+    }
+
+    private void index(int id, int tier, int clues, boolean canonical, long high, long low) {
+        if (tier < 0 || tier >= TIERS.length || clues < 0 || clues > 81) {
+            throw invalid("registro " + id + " com nível ou pistas inválidos");
+        }
+        tierIds[tier] = add(tierIds[tier], tierSize[tier]++, id);
+        int key = tier * 82 + clues;
+        clueIds[key] = add(clueIds[key] == null ? new int[16] : clueIds[key], clueSize[key]++, id);
+        if (canonical && lookup(high, low) < 0) {
+            insert(high, low, id);
+        }
+    }
+
+    private static int[] add(int[] ids, int count, int id) {
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[count] = id;
+        return ids;
+    }
+
+    private int lookup(long high, long low) {
+        int mask = hashIds.length - 1;
+        for (int slot = (int) high & mask; hashIds[slot] != 0; slot = (slot + 1) & mask) {
+            if (hashHigh[slot] == high && hashLow[slot] == low) {
+                return hashIds[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long high, long low, int id) {
+        if (2 * (hashCount + 1) > hashIds.length) {
+            long[] oldHigh = hashHigh;
+            long[] oldLow = hashLow;
+            int[] oldIds = hashIds;
+            hashHigh = new long[oldIds.length * 2];
+            hashLow = new long[oldIds.length * 2];
+            hashIds = new int[oldIds.length * 2];
+            hashCount = 0;
+            for (int slot = 0; slot < oldIds.length; slot++) {
+                if (oldIds[slot] != 0) {
+                    insert(oldHigh[slot], oldLow[slot], oldIds[slot] - 1);
+                }
+            }
+        }
+        int mask = hashIds.length - 1;
+        int slot = (int) high & mask;
+        while (hashIds[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        hashHigh[slot] = high;
+        hashLow[slot] = low;
+        hashIds[slot] = id + 1;
+        hashCount++;
+    }
+
+    /**
+     * Posição de 0 a {@code count - 1} a partir de um valor qualquer: embaralha os bits (finalizador
+     * do SplitMix64), para que sementes próximas caiam longe, e multiplica os 32 bits altos por {@code count}.
+     */
+    private static int choose(long random, int count) {
+        long z = (random ^ (random >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) (((z >>> 32) * count) >>> 32);
+    }
+
+    private static boolean intact(byte[] bytes, int offset, CRC32C checksum) {
+        checksum.reset();
+        checksum.update(bytes, offset, CRC);
+        int stored = (bytes[offset + CRC] & 0xFF) << 24 | (bytes[offset + CRC + 1] & 0xFF) << 16
+                | (bytes[offset + CRC + 2] & 0xFF) << 8 | bytes[offset + CRC + 3] & 0xFF;
+        return stored == (int) checksum.getValue();
+    }
+
+    private static ErroNum invalid(String reason) {
+        return new ErroNum("Inventário inválido: " + reason + ".");
+    }
+}
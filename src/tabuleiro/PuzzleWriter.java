@@ -0,0 +1,122 @@
+package tabuleiro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritor sequencial de tabuleiros no formato padrão de 81 caracteres por linha,
+ * com {@code '.'} para as células vazias.
+ * <p>
+ * As linhas são montadas num buffer direto de {@value #BUFFER_SIZE} bytes, gravado
+ * no canal apenas quando enche ou no {@link #close()}. Uma instância não é thread-safe.
+ */
+public class PuzzleWriter implements Closeable {
+
+    static final int BUFFER_SIZE = 1 << 20;
+    private static final int LINE = 82;
+
+    private static final byte[] ENCODE = {'.', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+
+    private final WritableByteChannel channel;
+    /** Fluxo que continua aberto depois do {@link #close()}, ou {@code null} se o canal deve ser fechado. */
+    private final OutputStream stream;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private PuzzleWriter(WritableByteChannel channel, OutputStream stream) {
+        this.channel = channel;
+        this.stream = stream;
+    }
+
+    /**
+     * Cria (ou sobrescreve) o arquivo para escrita.
+     *
+     * @param path {@code Path} - Arquivo de destino.
+     * @return {@code PuzzleWriter} - Escritor posicionado no início do arquivo.
+     * @throws IOException se o arquivo não puder ser criado.
+     */
+    public static PuzzleWriter create(Path path) throws IOException {
+        return new PuzzleWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), null);
+    }
+
+    /**
+     * Escreve num canal já aberto, como a saída padrão. O canal é fechado no {@link #close()}.
+     *
+     * @param channel {@code WritableByteChannel} - Canal de destino.
+     * @return {@code PuzzleWriter} - Escritor sobre o canal.
+     */
+    public static PuzzleWriter wrap(WritableByteChannel channel) {
+        return new PuzzleWriter(channel, null);
+    }
+
+    /**
+     * Escreve num fluxo que não pertence ao escritor, como {@code System.out}: o {@link #close()}
+     * descarrega o buffer e o fluxo, mas não o fecha, e o fluxo continua utilizável depois.
+     *
+     * @param out {@code OutputStream} - Fluxo de destino.
+     * @return {@code PuzzleWriter} - Escritor sobre o fluxo.
+     */
+    public static PuzzleWriter wrapUnclosed(OutputStream out) {
+        return new PuzzleWriter(Channels.newChannel(out), out);
+    }
+
+    /**
+     * Grava o estado atual do tabuleiro como uma linha.
+     *
+     * @param board {@code Board} - Tabuleiro a ser gravado.
+     * @throws IOException se a gravação falhar.
+     */
+    public void write(Board board) throws IOException {
+        write(board.cells());
+    }
+
+    /**
+     * Grava 81 células (0 para vazio) como uma linha.
+     *
+     * @param cells {@code byte[]} - Células em ordem de linha.
+     * @throws IOException se a gravação falhar.
+     */
+    public void write(byte[] cells) throws IOException {
+        if (buffer.remaining() < LINE) {
+            flush();
+        }
+        for (int index = 0; index < 81; index++) {
+            buffer.put(ENCODE[cells[index]]);
+        }
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * Grava no arquivo o que estiver acumulado no buffer.
+     *
+     * @throws IOException se a gravação falhar.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (stream != null) {
+            flush();
+            stream.flush();
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package tabuleiro;
+
+/**
+ * Avaliação de dificuldade produzida pelo {@link LogicalSolver}.
+ */
+public class Rating {
+
+    /**
+     * Resultado da avaliação.
+     */
+    public enum Resultado {
+        /** Resolvido só com as técnicas de {@link Tecnica}. */
+        LOGICO,
+        /** Tem solução única, mas as técnicas não bastam: exige tentativa e erro. */
+        TENTATIVA,
+        /** Não é um jogo válido: números iniciais em conflito, sem solução ou com mais de uma. */
+        INVALIDO
+    }
+
+    /**
+     * Usos das técnicas do nível mais alto a partir dos quais o jogo sobe um nível: um jogo que
+     * exige várias interseções ou pares é mais difícil que outro que exige só uma.
+     */
+    static final int REPETICOES_PARA_SUBIR = 4;
+
+    private final int[] uses;
+    private final Resultado resultado;
+
+    Rating(int[] uses, Resultado resultado) {
+        this.uses = uses.clone();
+        this.resultado = resultado;
+    }
+
+    /**
+     * Resultado da avaliação: resolvido pela lógica, só com tentativa e erro, ou inválido.
+     */
+    public Resultado getResultado() {
+        return resultado;
+    }
+
+    /**
+     * Indica se o tabuleiro foi resolvido só com as técnicas de {@link Tecnica}, sem chutes.
+     */
+    public boolean isSolvedLogically() {
+        return resultado == Resultado.LOGICO;
+    }
+
+    /**
+     * Indica se o tabuleiro é um jogo válido, com exatamente uma solução.
+     */
+    public boolean isValid() {
+        return resultado != Resultado.INVALIDO;
+    }
+
+    /**
+     * Técnica mais difícil usada, ou {@code null} se nenhuma foi necessária.
+     */
+    public Tecnica getHardest() {
+        for (int i = uses.length - 1; i >= 0; i--) {
+            if (uses[i] > 0) {
+                return Tecnica.values()[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Quantas vezes a técnica foi usada.
+     */
+    public int getUses(Tecnica tecnica) {
+        return uses[tecnica.ordinal()];
+    }
+
+    /**
+     * Soma dos pesos de cada técnica usada, multiplicados pelo número de usos.
+     */
+    public int getScore() {
+        int score = 0;
+        for (Tecnica tecnica : Tecnica.values()) {
+            score += tecnica.getPeso() * uses[tecnica.ordinal()];
+        }
+        return score;
+    }
+
+    /**
+     * Nível do tabuleiro: o nível da técnica mais difícil necessária, um acima quando as técnicas
+     * desse nível foram usadas {@value #REPETICOES_PARA_SUBIR} vezes ou mais (os candidatos únicos
+     * do nível fácil não contam), ou {@link Dificuldade#ESPECIALISTA} quando a dedução lógica não basta.
+     *
+     * @return {@code Dificuldade} - Nível do jogo, ou {@code null} se ele for {@link Resultado#INVALIDO}.
+     */
+    public Dificuldade getDificuldade() {
+        if (resultado == Resultado.INVALIDO) {
+            return null;
+        }
+        if (resultado == Resultado.TENTATIVA) {
+            return Dificuldade.ESPECIALISTA;
+        }
+        Tecnica hardest = getHardest();
+        if (hardest == null || hardest.getNivel() == Dificuldade.FACIL) {
+            return Dificuldade.FACIL;
+        }
+        Dificuldade nivel = hardest.getNivel();
+        int repeticoes = 0;
+        for (Tecnica tecnica : Tecnica.values()) {
+            if (tecnica.getNivel() == nivel) {
+                repeticoes += uses[tecnica.ordinal()];
+            }
+        }
+        if (repeticoes >= REPETICOES_PARA_SUBIR && nivel != Dificuldade.ESPECIALISTA) {
+            return Dificuldade.values()[nivel.ordinal() + 1];
+        }
+        return nivel;
+    }
+
+    @Override
+    public String toString() {
+        if (resultado == Resultado.INVALIDO) {
+            return "jogo inválido (sem solução única)";
+        }
+        Tecnica hardest = getHardest();
+        return String.format("%s (pontuação %d, técnica mais difícil: %s%s)", getDificuldade().getDescricao(),
+                getScore(), hardest == null ? "nenhuma" : hardest.getDescricao(),
+                resultado == Resultado.LOGICO ? "" : ", exige tentativa e erro");
+    }
+}
@@ -0,0 +1,286 @@
+package tabuleiro;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Regras de uma variante do Sudoku 9x9: linhas e colunas sem repetição, nove regiões de 9
+ * células (os blocos 3x3 no jogo clássico, formas irregulares no jigsaw) e as regras extras
+ * registradas ({@link Constraint}), como as diagonais do Sudoku X e as gaiolas do killer.
+ * <p>
+ * As regras são imutáveis: {@link #withDiagonals()}, {@link #withRegions(int[])},
+ * {@link #withCage(int, int...)} e {@link #with(Constraint)} devolvem uma nova instância, que pode
+ * ser compartilhada entre threads. As tabelas usadas pelo {@link Validator} e pelo
+ * {@link VariantSolver} (regras de cada célula, unidades) são montadas uma vez, na construção.
+ * <p>
+ * O caminho clássico ({@link Solver}, {@link Generator}) não consulta estas regras, e o {@link Board}
+ * só as usa para validar jogadas e o fim de jogo de uma variante iniciada com
+ * {@link Board#startingGame(Rules, long, Dificuldade)}: com {@link #STANDARD},
+ * {@link Validator#isValid(Rules, Board, int, int, int)} apenas repassa a chamada para
+ * {@link Validator#isValid(Board, int, int, int)}.
+ */
+public final class Rules {
+
+    /** O Sudoku clássico: blocos 3x3 e nenhuma regra extra. */
+    public static final Rules STANDARD = new Rules(Topology.BLOCK, new Constraint[0]);
+
+    /** Região (0 a 8) de cada célula. */
+    final int[] regionOf;
+    /** Células de cada região, 9 por região, como em {@link Topology#UNITS}. */
+    final int[] regions;
+    private final boolean standardRegions;
+    private final Constraint[] constraints;
+    /**
+     * Regras extras de cada célula: as da célula {@code i} ficam em
+     * {@code cellConstraints[cellStart[i]]} a {@code cellConstraints[cellStart[i + 1] - 1]}.
+     */
+    final int[] cellStart;
+    final Constraint[] cellConstraints;
+    /**
+     * Células de todas as unidades com os 9 dígitos, 9 por unidade: linhas, colunas,
+     * regiões e as regras extras com {@link Constraint#isUnit()}.
+     */
+    final int[] units;
+    /**
+     * Unidades extras de cada célula (numeradas a partir de 0, na ordem de {@link #units} depois das
+     * 27 primeiras): as da célula {@code i} ficam em {@code extraUnits[extraStart[i]]} a
+     * {@code extraUnits[extraStart[i + 1] - 1]}.
+     */
+    final int[] extraStart;
+    final int[] extraUnits;
+    /**
+     * Vizinhas de cada célula em todas as unidades, em ordem crescente: as da célula {@code i}
+     * ficam em {@code peers[peerStart[i]]} a {@code peers[peerStart[i + 1] - 1]}. No jogo
+     * clássico são as 20 vizinhas de {@link Topology#PEERS}.
+     */
+    final int[] peerStart;
+    final int[] peers;
+
+    private Rules(int[] regionOf, Constraint[] constraints) {
+        this.regionOf = regionOf;
+        this.standardRegions = Arrays.equals(regionOf, Topology.BLOCK);
+        this.constraints = constraints;
+
+        this.regions = new int[81];
+        int[] filled = new int[9];
+        for (int index = 0; index < 81; index++) {
+            int region = regionOf[index];
+            regions[region * 9 + filled[region]++] = index;
+        }
+
+        this.cellStart = new int[82];
+        for (Constraint constraint : constraints) {
+            for (int cell : constraint.cells()) {
+                cellStart[cell + 1]++;
+            }
+        }
+        for (int index = 0; index < 81; index++) {
+            cellStart[index + 1] += cellStart[index];
+        }
+        this.cellConstraints = new Constraint[cellStart[81]];
+        int[] next = Arrays.copyOf(cellStart, 81);
+        for (Constraint constraint : constraints) {
+            for (int cell : constraint.cells()) {
+                cellConstraints[next[cell]++] = constraint;
+            }
+        }
+
+        int extraCount = 0;
+        for (Constraint constraint : constraints) {
+            if (constraint.isUnit()) {
+                extraCount++;
+            }
+        }
+        this.units = Arrays.copyOf(Topology.UNITS, (Topology.UNIT_COUNT + extraCount) * Topology.UNIT_SIZE);
+        System.arraycopy(regions, 0, units, 18 * Topology.UNIT_SIZE, 81);
+        int start = Topology.UNIT_COUNT * Topology.UNIT_SIZE;
+        for (Constraint constraint : constraints) {
+            if (constraint.isUnit()) {
+                System.arraycopy(constraint.cells(), 0, units, start, Topology.UNIT_SIZE);
+                start += Topology.UNIT_SIZE;
+            }
+        }
+
+        this.extraStart = new int[82];
+        for (int k = Topology.UNIT_COUNT * Topology.UNIT_SIZE; k < units.length; k++) {
+            extraStart[units[k] + 1]++;
+        }
+        for (int index = 0; index < 81; index++) {
+            extraStart[index + 1] += extraStart[index];
+        }
+        this.extraUnits = new int[extraStart[81]];
+        next = Arrays.copyOf(extraStart, 81);
+        for (int k = Topology.UNIT_COUNT * Topology.UNIT_SIZE; k < units.length; k++) {
+            extraUnits[next[units[k]]++] = k / Topology.UNIT_SIZE - Topology.UNIT_COUNT;
+        }
+
+        boolean[][] peer = new boolean[81][81];
+        for (int unit = 0; unit < units.length; unit += Topology.UNIT_SIZE) {
+            for (int a = unit; a < unit + Topology.UNIT_SIZE; a++) {
+                for (int b = unit; b < unit + Topology.UNIT_SIZE; b++) {
+                    peer[units[a]][units[b]] = units[a] != units[b];
+                }
+            }
+        }
+        this.peerStart = new int[82];
+        for (int index = 0; index < 81; index++) {
+            int count = 0;
+            for (int other = 0; other < 81; other++) {
+                count += peer[index][other] ? 1 : 0;
+            }
+            peerStart[index + 1] = peerStart[index] + count;
+        }
+        this.peers = new int[peerStart[81]];
+        for (int index = 0, k = 0; index < 81; index++) {
+            for (int other = 0; other < 81; other++) {
+                if (peer[index][other]) {
+                    peers[k++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * Quantidade de unidades extras (regras com {@link Constraint#isUnit()}), além das 27 de linhas,
+     * colunas e regiões.
+     */
+    int extraUnitCount() {
+        return units.length / Topology.UNIT_SIZE - Topology.UNIT_COUNT;
+    }
+
+    /**
+     * Acrescenta as duas diagonais principais sem repetição (Sudoku X).
+     */
+    public Rules withDiagonals() {
+        Rules rules = this;
+        for (UniqueRegion diagonal : UniqueRegion.diagonals()) {
+            rules = rules.with(diagonal);
+        }
+        return rules;
+    }
+
+    /**
+     * Troca os blocos 3x3 por regiões irregulares (Sudoku jigsaw).
+     *
+     * @param regionOf {@code int[]} - Região (0 a 8) de cada uma das 81 células; cada região tem 9 células.
+     * @return {@code Rules} - Novas regras, com as mesmas regras extras.
+     */
+    public Rules withRegions(int[] regionOf) {
+        if (regionOf.length != 81) {
+            throw new IllegalArgumentException("Informe a região de cada uma das 81 células.");
+        }
+        int[] sizes = new int[9];
+        for (int region : regionOf) {
+            if (region < 0 || region > 8) {
+                throw new IllegalArgumentException("As regiões devem ser numeradas de 0 a 8: " + region);
+            }
+            sizes[region]++;
+        }
+        for (int region = 0; region < 9; region++) {
+            if (sizes[region] != 9) {
+                throw new IllegalArgumentException("A região " + region + " tem " + sizes[region] + " células, e não 9.");
+            }
+        }
+        return new Rules(regionOf.clone(), constraints);
+    }
+
+    /**
+     * Acrescenta uma gaiola do Sudoku killer.
+     *
+     * @param sum   {@code int} - Soma das células da gaiola.
+     * @param cells {@code int...} - Células da gaiola (0 a 80).
+     */
+    public Rules withCage(int sum, int... cells) {
+        return with(new KillerCage(sum, cells));
+    }
+
+    /**
+     * Acrescenta uma regra extra.
+     *
+     * @param constraint {@code Constraint} - Regra a registrar.
+     * @return {@code Rules} - Novas regras, com esta e as anteriores.
+     */
+    public Rules with(Constraint constraint) {
+        if (constraint.isUnit() && constraint.cells().length != Topology.UNIT_SIZE) {
+            throw new IllegalArgumentException("Uma unidade deve ter 9 células: " + constraint);
+        }
+        Constraint[] extended = Arrays.copyOf(constraints, constraints.length + 1);
+        extended[constraints.length] = constraint;
+        return new Rules(regionOf, extended);
+    }
+
+    /**
+     * Se estas são as regras do Sudoku clássico: blocos 3x3 e nenhuma regra extra.
+     */
+    public boolean isStandard() {
+        return standardRegions && constraints.length == 0;
+    }
+
+    /**
+     * Se as regiões são os blocos 3x3 (falso no jigsaw).
+     */
+    public boolean hasStandardRegions() {
+        return standardRegions;
+    }
+
+    /**
+     * Região (0 a 8) da célula {@code index}.
+     */
+    public int regionOf(int index) {
+        return regionOf[index];
+    }
+
+    /**
+     * Regras extras, na ordem em que foram registradas.
+     */
+    public List<Constraint> getConstraints() {
+        return List.of(constraints);
+    }
+
+    /**
+     * Verifica se a grade completa cumpre todas as regras: linhas, colunas, regiões e regras extras.
+     *
+     * @param grid {@code byte[]} - As 81 células.
+     * @return {@code boolean} - {@code true} se todas as unidades tiverem os 9 dígitos e as regras extras forem cumpridas.
+     */
+    boolean isSolved(byte[] grid) {
+        for (int start = 0; start < units.length; start += Topology.UNIT_SIZE) {
+            int seen = 0;
+            for (int k = start; k < start + Topology.UNIT_SIZE; k++) {
+                seen |= (1 << grid[units[k]]) >>> 1;
+            }
+            if (seen != Validator.ALL_DIGITS) {
+                return false;
+            }
+        }
+        for (Constraint constraint : constraints) {
+            if (!constraint.isSatisfied(grid)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Confere e copia as células de uma regra: índices de 0 a 80, sem repetição.
+     */
+    static int[] checkCells(int[] cells) {
+        boolean[] seen = new boolean[81];
+        for (int cell : cells) {
+            if (cell < 0 || cell > 80) {
+                throw new IllegalArgumentException("Célula fora do tabuleiro: " + cell);
+            }
+            if (seen[cell]) {
+                throw new IllegalArgumentException("Célula repetida: " + cell);
+            }
+            seen[cell] = true;
+        }
+        return cells.clone();
+    }
+
+    @Override
+    public String toString() {
+        return (standardRegions ? "blocos 3x3" : "regiões " + Arrays.toString(regionOf))
+                + (constraints.length == 0 ? "" : " + " + Arrays.toString(constraints));
+    }
+}
@@ -0,0 +1,258 @@
+package tabuleiro;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resolução em fluxo contínuo, em quatro etapas ligadas por filas limitadas:
+ * <ol>
+ *     <li>leitura: o {@link PuzzleReader} preenche lotes de {@value #BATCH} tabuleiros ({@link BoardBatch});</li>
+ *     <li>validação: {@link Validator#validateBatch(BoardBatch)} marca cada tabuleiro como
+ *     conflitante, incompleto ou já completo;</li>
+ *     <li>resolução: várias threads resolvem os incompletos com o {@link Solver} (ou o {@link PuzzleCache});</li>
+ *     <li>escrita: os lotes voltam à ordem da entrada e vão para o {@link PuzzleWriter}.</li>
+ * </ol>
+ * Cada fila comporta poucos lotes e a leitura só avança quando a escrita devolve um lote ao
+ * conjunto fixo de lotes livres, então a etapa mais lenta segura as anteriores (contrapressão)
+ * e a memória usada não depende do tamanho do arquivo. Os lotes são reaproveitados, sem alocação
+ * por tabuleiro.
+ * <p>
+ * Tabuleiros com conflito ou sem solução são gravados como foram lidos, como no modo em lote.
+ * O resultado ({@link PipelineStats}) traz a vazão e a ocupação de cada etapa.
+ */
+public class SolvePipeline {
+
+    /** Quantidade de tabuleiros por lote. */
+    static final int BATCH = 1024;
+
+    private static final String[] STAGES = {"leitura", "validação", "resolução", "escrita"};
+    private static final int PARSE = 0;
+    private static final int VALIDATE = 1;
+    private static final int SOLVE = 2;
+    private static final int EMIT = 3;
+
+    /** Marca de fim de fluxo, repassada de etapa em etapa. */
+    private static final BoardBatch END = new BoardBatch(1);
+
+    private final int solvers;
+    private final PuzzleCache cache;
+
+    /**
+     * @param solvers {@code int} - Quantidade de threads da etapa de resolução.
+     * @param cache   {@code PuzzleCache} - Cache de soluções compartilhado, ou {@code null} para resolver sempre.
+     */
+    public SolvePipeline(int solvers, PuzzleCache cache) {
+        if (solvers < 1) {
+            throw new IllegalArgumentException("A resolução precisa de pelo menos uma thread.");
+        }
+        this.solvers = solvers;
+        this.cache = cache;
+    }
+
+    /**
+     * Lê todos os tabuleiros, resolve os que puderem ser resolvidos e grava o resultado na ordem da entrada.
+     * O escritor não é fechado.
+     *
+     * @param reader {@code PuzzleReader} - Origem dos tabuleiros.
+     * @param writer {@code PuzzleWriter} - Destino, uma linha por tabuleiro lido.
+     * @return {@code PipelineStats} - Vazão, ocupação das etapas e contagem por estado.
+     * @throws IOException se a leitura ou a gravação falhar.
+     * @throws ErroNum se uma linha da entrada não tiver 81 células válidas.
+     * @throws InterruptedException se a thread que chamou for interrompida.
+     */
+    public PipelineStats run(PuzzleReader reader, PuzzleWriter writer) throws IOException, InterruptedException {
+        return new Run(reader, writer).execute();
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /**
+     * Estado de uma execução: filas, threads e contadores.
+     */
+    private final class Run {
+
+        private final PuzzleReader reader;
+        private final PuzzleWriter writer;
+        private final BlockingQueue<BoardBatch> free;
+        private final BlockingQueue<BoardBatch> parsed;
+        private final BlockingQueue<BoardBatch> validated;
+        private final BlockingQueue<BoardBatch> solved;
+        private final AtomicInteger runningSolvers = new AtomicInteger(solvers);
+        private final AtomicLongArray busy = new AtomicLongArray(STAGES.length);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final List<Thread> threads = new ArrayList<>();
+        private final long[] outcomes = new long[5];
+        private long boards;
+
+        Run(PuzzleReader reader, PuzzleWriter writer) {
+            this.reader = reader;
+            this.writer = writer;
+            int depth = solvers + 1;
+            int batches = 2 * depth + solvers;
+            free = new ArrayBlockingQueue<>(batches);
+            for (int i = 0; i < batches; i++) {
+                free.add(new BoardBatch(BATCH));
+            }
+            parsed = new ArrayBlockingQueue<>(depth);
+            validated = new ArrayBlockingQueue<>(depth);
+            solved = new ArrayBlockingQueue<>(batches);
+        }
+
+        PipelineStats execute() throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            stage(STAGES[PARSE], this::parse);
+            stage(STAGES[VALIDATE], this::validate);
+            for (int i = 0; i < solvers; i++) {
+                stage(STAGES[SOLVE] + "-" + i, this::solve);
+            }
+            stage(STAGES[EMIT], this::emit);
+            // todas as threads existem antes de a primeira começar: uma falha precisa alcançar as demais
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            try {
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+            } catch (InterruptedException e) {
+                stop();
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Throwable error = failure.get();
+            if (error instanceof IOException io) {
+                throw io;
+            } else if (error instanceof RuntimeException runtime) {
+                throw runtime;
+            } else if (error instanceof Error fatal) {
+                throw fatal;
+            } else if (error != null) {
+                throw new IllegalStateException(error);
+            }
+            long[] busyNanos = new long[STAGES.length];
+            for (int stage = 0; stage < STAGES.length; stage++) {
+                busyNanos[stage] = busy.get(stage);
+            }
+            return new PipelineStats(boards, elapsed, STAGES.clone(), new int[]{1, 1, solvers, 1}, busyNanos, outcomes);
+        }
+
+        private void parse() throws IOException, InterruptedException {
+            long sequence = 0;
+            while (true) {
+                BoardBatch batch = free.take();
+                long start = System.nanoTime();
+                int count = batch.fill(reader);
+                batch.setSequence(sequence++);
+                busy.addAndGet(PARSE, System.nanoTime() - start);
+                if (count > 0) {
+                    parsed.put(batch);
+                }
+                if (count < BATCH) {
+                    break;
+                }
+            }
+            parsed.put(END);
+        }
+
+        private void validate() throws InterruptedException {
+            BoardBatch batch;
+            while ((batch = parsed.take()) != END) {
+                long start = System.nanoTime();
+                Validator.validateBatch(batch);
+                busy.addAndGet(VALIDATE, System.nanoTime() - start);
+                validated.put(batch);
+            }
+            for (int i = 0; i < solvers; i++) {
+                validated.put(END);
+            }
+        }
+
+        private void solve() throws InterruptedException {
+            Solver solver = new Solver();
+            byte[] puzzle = new byte[81];
+            byte[] solution = new byte[81];
+            BoardBatch batch;
+            while ((batch = validated.take()) != END) {
+                long start = System.nanoTime();
+                for (int board = 0; board < batch.getCount(); board++) {
+                    if (batch.getStatus(board) != BoardBatch.INCOMPLETO) {
+                        continue;
+                    }
+                    batch.get(board, puzzle);
+                    boolean found = cache != null
+                            ? cache.solve(puzzle, solution) != null
+                            : solver.solveCells(puzzle, solution);
+                    if (found) {
+                        batch.set(board, solution);
+                        batch.setStatus(board, BoardBatch.RESOLVIDO);
+                    } else {
+                        batch.setStatus(board, BoardBatch.SEM_SOLUCAO);
+                    }
+                }
+                busy.addAndGet(SOLVE, System.nanoTime() - start);
+                solved.put(batch);
+            }
+            if (runningSolvers.decrementAndGet() == 0) {
+                solved.put(END);
+            }
+        }
+
+        private void emit() throws IOException, InterruptedException {
+            // lotes que chegaram antes da sua vez, porque outra thread de resolução ainda está no anterior
+            Map<Long, BoardBatch> waiting = new HashMap<>();
+            byte[] row = new byte[81];
+            long next = 0;
+            BoardBatch batch;
+            while ((batch = solved.take()) != END) {
+                waiting.put(batch.getSequence(), batch);
+                while ((batch = waiting.remove(next)) != null) {
+                    long start = System.nanoTime();
+                    for (int board = 0; board < batch.getCount(); board++) {
+                        batch.get(board, row);
+                        writer.write(row);
+                        outcomes[batch.getStatus(board)]++;
+                    }
+                    boards += batch.getCount();
+                    busy.addAndGet(EMIT, System.nanoTime() - start);
+                    next++;
+                    free.put(batch);
+                }
+            }
+        }
+
+        private void stage(String name, Stage stage) {
+            Thread thread = new Thread(() -> {
+                try {
+                    stage.run();
+                } catch (InterruptedException e) {
+                    // interrompida por stop(): a falha original já foi registrada
+                } catch (Throwable e) {
+                    if (failure.compareAndSet(null, e)) {
+                        stop();
+                    }
+                }
+            }, "pipeline-" + name);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+
+        /** Interrompe todas as etapas, que podem estar bloqueadas numa fila. */
+        private void stop() {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package tabuleiro;
+
+import java.util.Arrays;
+
+/**
+ * Resolvedor de Sudoku baseado em máscaras de bits.
+ * Aplica as mesmas regras do {@link Validator} (linha, coluna e bloco 3x3):
+ * primeiro propaga restrições (candidatos únicos e dígitos que só cabem numa
+ * célula da unidade) e depois faz backtracking escolhendo sempre a célula com
+ * menos candidatos (MRV).
+ * <p>
+ * Uma instância reaproveita os seus vetores entre chamadas e não é thread-safe;
+ * os métodos estáticos criam uma instância por chamada.
+ */
+public class Solver {
+
+    private final byte[] grid = new byte[81];
+    private final int[] rows = new int[9];
+    private final int[] cols = new int[9];
+    private final int[] blocks = new int[9];
+    /** Pilha com as células preenchidas durante a busca, usada para desfazer jogadas. */
+    private final int[] trail = new int[81];
+    private int trailSize;
+
+    private byte[] solution;
+    private int solutions;
+    private int limit;
+
+    /**
+     * Resolve o tabuleiro, preenchendo no próprio {@link Board} as células vazias.
+     * Os números preenchidos entram no histórico de jogadas, então podem ser desfeitos.
+     *
+     * @param board {@code Board} - Tabuleiro a ser resolvido.
+     * @return {@code boolean} - {@code true} se encontrou solução; {@code false} se o tabuleiro não tem solução
+     * (nesse caso o tabuleiro não é alterado).
+     */
+    public static boolean solve(Board board) {
+        byte[] out = new byte[81];
+        if (!new Solver().solveCells(board.cells(), out)) {
+            return false;
+        }
+        for (int index = 0; index < 81; index++) {
+            if (board.cells()[index] == Board.EMPTY) {
+                board.play(Topology.ROW[index], Topology.COL[index], out[index]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Conta as soluções do tabuleiro, parando ao atingir {@code limit}.
+     * Com {@code limit = 2} serve para testar se a solução é única.
+     *
+     * @param board {@code Board} - Tabuleiro a ser analisado (não é alterado).
+     * @param limit {@code int} - Número máximo de soluções a procurar.
+     * @return {@code int} - Quantidade de soluções encontradas, no máximo {@code limit}.
+     */
+    public static int countSolutions(Board board, int limit) {
+        return new Solver().countCells(board.cells(), limit);
+    }
+
+    /**
+     * Resolve um tabuleiro no formato de 81 células (0 para vazio).
+     *
+     * @param puzzle {@code byte[]} - Células iniciais; não é alterado.
+     * @param out    {@code byte[]} - Recebe a solução completa, se existir.
+     * @return {@code boolean} - {@code true} se encontrou solução.
+     */
+    public boolean solveCells(byte[] puzzle, byte[] out) {
+        if (!Metrics.ENABLED) {
+            return run(puzzle, 1, out) == 1;
+        }
+        long start = System.nanoTime();
+        boolean solved = run(puzzle, 1, out) == 1;
+        Metrics.solve(System.nanoTime() - start);
+        return solved;
+    }
+
+    /**
+     * Conta as soluções de um tabuleiro no formato de 81 células, até {@code limit}.
+     *
+     * @param puzzle {@code byte[]} - Células iniciais; não é alterado.
+     * @param limit  {@code int} - Número máximo de soluções a procurar.
+     * @return {@code int} - Quantidade de soluções encontradas, no máximo {@code limit}.
+     */
+    public int countCells(byte[] puzzle, int limit) {
+        return run(puzzle, limit, null);
+    }
+
+    private int run(byte[] puzzle, int limit, byte[] out) {
+        if (!load(puzzle)) {
+            return 0;
+        }
+        this.limit = limit;
+        this.solution = out;
+        this.solutions = 0;
+        search();
+        this.solution = null;
+        return solutions;
+    }
+
+    /**
+     * Carrega as células iniciais e monta as máscaras.
+     * @return {@code false} se as pistas já estiverem em conflito.
+     */
+    private boolean load(byte[] puzzle) {
+        Arrays.fill(rows, 0);
+        Arrays.fill(cols, 0);
+        Arrays.fill(blocks, 0);
+        trailSize = 0;
+        for (int index = 0; index < 81; index++) {
+            int digit = puzzle[index];
+            grid[index] = (byte) digit;
+            if (digit != Board.EMPTY) {
+                int bit = 1 << (digit - 1);
+                int row = Topology.ROW[index];
+                int col = Topology.COL[index];
+                int block = Topology.BLOCK[index];
+                if (((rows[row] | cols[col] | blocks[block]) & bit) != 0) {
+                    return false;
+                }
+                rows[row] |= bit;
+                cols[col] |= bit;
+                blocks[block] |= bit;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca recursiva. Retorna {@code true} quando já encontrou {@code limit} soluções
+     * e a busca deve parar. Ao retornar, o estado volta ao que era na entrada.
+     */
+    private boolean search() {
+        int mark = trailSize;
+        if (!propagate()) {
+            undo(mark);
+            return false;
+        }
+
+        int best = -1;
+        int bestCandidates = 0;
+        int bestCount = 10;
+        for (int index = 0; index < 81 && bestCount > 2; index++) {
+            if (grid[index] == Board.EMPTY) {
+                int candidates = candidates(index);
+                int count = Integer.bitCount(candidates);
+                if (count < bestCount) {
+                    best = index;
+                    bestCandidates = candidates;
+                    bestCount = count;
+                }
+            }
+        }
+
+        if (best < 0) {
+            // Tabuleiro completo: registra a solução
+            if (solutions++ == 0 && solution != null) {
+                System.arraycopy(grid, 0, solution, 0, 81);
+            }
+            boolean stop = solutions >= limit;
+            undo(mark);
+            return stop;
+        }
+
+        while (bestCandidates != 0) {
+            int bit = bestCandidates & -bestCandidates;
+            bestCandidates ^= bit;
+            assign(best, Integer.numberOfTrailingZeros(bit) + 1);
+            if (search()) {
+                undo(mark);
+                return true;
+            }
+            undo(trailSize - 1);
+        }
+        undo(mark);
+        return false;
+    }
+
+    /**
+     * Aplica candidatos únicos (célula com um só candidato) e dígitos únicos
+     * (dígito que só cabe numa célula da unidade) até não haver mais mudanças.
+     *
+     * @return {@code false} se encontrou uma contradição.
+     */
+    private boolean propagate() {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int index = 0; index < 81; index++) {
+                if (grid[index] == Board.EMPTY) {
+                    int candidates = candidates(index);
+                    if (candidates == 0) {
+                        return false;
+                    }
+                    if ((candidates & (candidates - 1)) == 0) {
+                        assign(index, Integer.numberOfTrailingZeros(candidates) + 1);
+                        changed = true;
+                    }
+                }
+            }
+            if (changed) {
+                continue; // candidatos únicos são mais baratos: esgota-os antes de olhar as unidades
+            }
+            for (int start = 0; start < Topology.UNITS.length; start += Topology.UNIT_SIZE) {
+                int end = start + Topology.UNIT_SIZE;
+                int once = 0;
+                int twice = 0;
+                int placed = 0;
+                for (int k = start; k < end; k++) {
+                    int index = Topology.UNITS[k];
+                    if (grid[index] == Board.EMPTY) {
+                        int candidates = candidates(index);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    } else {
+                        placed |= 1 << (grid[index] - 1);
+                    }
+                }
+                if ((once | placed) != Validator.ALL_DIGITS) {
+                    return false;
+                }
+                int hidden = once & ~twice;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+                    for (int k = start; k < end; k++) {
+                        int index = Topology.UNITS[k];
+                        if (grid[index] == Board.EMPTY && (candidates(index) & bit) != 0) {
+                            assign(index, Integer.numberOfTrailingZeros(bit) + 1);
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private int candidates(int index) {
+        return ~(rows[Topology.ROW[index]] | cols[Topology.COL[index]] | blocks[Topology.BLOCK[index]]) & Validator.ALL_DIGITS;
+    }
+
+    private void assign(int index, int digit) {
+        int bit = 1 << (digit - 1);
+        grid[index] = (byte) digit;
+        rows[Topology.ROW[index]] |= bit;
+        cols[Topology.COL[index]] |= bit;
+        blocks[Topology.BLOCK[index]] |= bit;
+        trail[trailSize++] = index;
+    }
+
+    /** Desfaz as jogadas da pilha até que ela volte ao tamanho {@code mark}. */
+    private void undo(int mark) {
+        while (trailSize > mark) {
+            int index = trail[--trailSize];
+            int bit = ~(1 << (grid[index] - 1));
+            grid[index] = Board.EMPTY;
+            rows[Topology.ROW[index]] &= bit;
+            cols[Topology.COL[index]] &= bit;
+            blocks[Topology.BLOCK[index]] &= bit;
+        }
+    }
+}
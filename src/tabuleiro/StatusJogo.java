@@ -0,0 +1,28 @@
+package tabuleiro;
+
+public enum StatusJogo {
+
+    /**
+     * Nenhum número foi informado pelo jogador; o tabuleiro só tem os números fixos.
+     * Um jogo neste status é sempre considerado sem erros.
+     */
+    NAO_INICIADO("Não iniciado"),
+    /**
+     * O jogador já informou números, mas ainda há posições vazias.
+     */
+    INCOMPLETO("Incompleto"),
+    /**
+     * Todas as posições estão preenchidas.
+     */
+    COMPLETO("Completo");
+
+    private final String descricao;
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    StatusJogo(String descricao) {
+        this.descricao = descricao;
+    }
+}
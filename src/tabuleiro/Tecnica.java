@@ -0,0 +1,98 @@
+package tabuleiro;
+
+public enum Tecnica {
+
+    /**
+     * A célula tem um único candidato.
+     *
+     * Parâmetros:
+     *   - nivel: {@link Dificuldade#FACIL}
+     *   - peso: {@code 1}
+     */
+    CANDIDATO_UNICO(Dificuldade.FACIL, 1, "Candidato único"),
+    /**
+     * O dígito só cabe numa célula da linha, coluna ou bloco.
+     *
+     * Parâmetros:
+     *   - nivel: {@link Dificuldade#FACIL}
+     *   - peso: {@code 2}
+     */
+    UNICO_NA_UNIDADE(Dificuldade.FACIL, 2, "Único na unidade"),
+    /**
+     * Dentro de um bloco, o dígito só aparece numa linha (ou coluna), então sai do resto dessa linha.
+     *
+     * Parâmetros:
+     *   - nivel: {@link Dificuldade#MEDIO}
+     *   - peso: {@code 5}
+     */
+    INTERSECAO_BLOCO(Dificuldade.MEDIO, 5, "Interseção bloco-linha"),
+    /**
+     * Dentro de uma linha (ou coluna), o dígito só aparece num bloco, então sai do resto desse bloco.
+     *
+     * Parâmetros:
+     *   - nivel: {@link Dificuldade#MEDIO}
+     *   - peso: {@code 5}
+     */
+    INTERSECAO_LINHA(Dificuldade.MEDIO, 5, "Interseção linha-bloco"),
+    /**
+     * Duas células da unidade com os mesmos dois candidatos: esses dígitos saem das demais.
+     *
+     * Parâmetros:
+     *   - nivel: {@link Dificuldade#MEDIO}
+     *   - peso: {@code 8}
+     */
+    PAR_NU(Dificuldade.MEDIO, 8, "Par nu"),
+    /**
+     * Dois dígitos que só cabem nas mesmas duas células da unidade: os outros candidatos saem delas.
+     *
+     * Parâmetros:
+     *   - nivel: {@link Dificuldade#DIFICIL}
+     *   - peso: {@code 12}
+     */
+    PAR_OCULTO(Dificuldade.DIFICIL, 12, "Par oculto"),
+    /**
+     * Três células da unidade cujos candidatos somam só três dígitos: esses dígitos saem das demais.
+     *
+     * Parâmetros:
+     *   - nivel: {@link Dificuldade#DIFICIL}
+     *   - peso: {@code 15}
+     */
+    TRIO_NU(Dificuldade.DIFICIL, 15, "Trio nu"),
+    /**
+     * Duas linhas em que o dígito só cabe nas mesmas duas colunas (ou o inverso):
+     * o dígito sai do resto dessas colunas.
+     *
+     * Parâmetros:
+     *   - nivel: {@link Dificuldade#DIFICIL}
+     *   - peso: {@code 20}
+     */
+    X_WING(Dificuldade.DIFICIL, 20, "X-Wing");
+
+    private final Dificuldade nivel;
+    private final int peso;
+    private final String descricao;
+
+    /**
+     * Menor nível de dificuldade em que a técnica costuma ser exigida.
+     */
+    public Dificuldade getNivel() {
+        return nivel;
+    }
+
+    /**
+     * Pontuação somada à avaliação do tabuleiro a cada uso da técnica.
+     */
+    public int getPeso() {
+        return peso;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    Tecnica(Dificuldade nivel, int peso, String descricao) {
+        this.nivel = nivel;
+        this.peso = peso;
+        this.descricao = descricao;
+    }
+}
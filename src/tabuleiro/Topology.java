@@ -0,0 +1,61 @@
+package tabuleiro;
+
+/**
+ * Tabelas fixas da topologia do tabuleiro 9x9, compartilhadas por todos os tabuleiros e threads:
+ * linha, coluna e bloco de cada célula, as células de cada uma das 27 unidades e as 20 vizinhas
+ * de cada célula, todas em vetores planos de {@code int}.
+ * <p>
+ * São as mesmas tabelas da {@link Geometry} de blocos 3x3 (os mesmos vetores, não cópias), expostas
+ * como constantes estáticas para que o JIT as trate como endereços fixos nos laços do {@link Board},
+ * {@link Validator}, {@link Solver} e {@link LogicalSolver}. Trocam divisões por 9 e por 3 e vetores
+ * de vetores por uma leitura indexada num vetor contíguo.
+ * <p>
+ * Os vetores não podem ser alterados: a classe é interna ao pacote justamente porque o Java não tem
+ * vetores imutáveis.
+ */
+final class Topology {
+
+    private static final Geometry NINE = Geometry.of(3);
+
+    /** Linha (0 a 8) de cada célula. */
+    static final int[] ROW = NINE.rowOf;
+    /** Coluna (0 a 8) de cada célula. */
+    static final int[] COL = NINE.colOf;
+    /** Bloco (0 a 8, numerado por linhas) de cada célula. */
+    static final int[] BLOCK = NINE.boxOf;
+
+    /** Células por unidade. */
+    static final int UNIT_SIZE = 9;
+    /** Quantidade de unidades: 9 linhas, 9 colunas e 9 blocos. */
+    static final int UNIT_COUNT = 27;
+    /**
+     * Células de cada unidade, {@value #UNIT_SIZE} por unidade: a unidade {@code u} ocupa
+     * {@code UNITS[u * 9]} a {@code UNITS[u * 9 + 8]}. Linhas são as unidades 0 a 8, colunas 9 a 17
+     * e blocos 18 a 26.
+     */
+    static final int[] UNITS = NINE.units;
+
+    /** Vizinhas de cada célula: 8 na linha, 8 na coluna e 4 no bloco fora delas. */
+    static final int PEER_COUNT = 20;
+    /**
+     * Vizinhas de cada célula, em ordem crescente: as da célula {@code i} ocupam
+     * {@code PEERS[i * 20]} a {@code PEERS[i * 20 + 19]}.
+     */
+    static final int[] PEERS = NINE.peers;
+
+    private Topology() {
+    }
+
+    /**
+     * Indica se a célula pertence à unidade (0 a 8 linhas, 9 a 17 colunas, 18 a 26 blocos).
+     */
+    static boolean contains(int unit, int index) {
+        if (unit < 9) {
+            return ROW[index] == unit;
+        }
+        if (unit < 18) {
+            return COL[index] == unit - 9;
+        }
+        return BLOCK[index] == unit - 18;
+    }
+}
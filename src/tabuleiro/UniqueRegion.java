@@ -0,0 +1,87 @@
+package tabuleiro;
+
+import java.util.Arrays;
+
+/**
+ * Grupo de células que não pode ter dígitos repetidos, como as diagonais do Sudoku X.
+ * Com 9 células, o grupo é uma unidade e precisa conter os 9 dígitos.
+ */
+public final class UniqueRegion implements Constraint {
+
+    private final int[] cells;
+    private final Mensagem violation;
+
+    /**
+     * @param violation {@code Mensagem} - Mensagem de jogada inválida por repetição neste grupo.
+     * @param cells     {@code int...} - De 2 a 9 células distintas (0 a 80).
+     */
+    public UniqueRegion(Mensagem violation, int... cells) {
+        if (cells.length < 2 || cells.length > 9) {
+            throw new IllegalArgumentException("Um grupo sem repetições deve ter de 2 a 9 células.");
+        }
+        this.cells = Rules.checkCells(cells);
+        this.violation = violation;
+    }
+
+    /**
+     * As duas diagonais principais do Sudoku X.
+     *
+     * @return {@code UniqueRegion[]} - A diagonal principal e a secundária.
+     */
+    public static UniqueRegion[] diagonals() {
+        int[] main = new int[9];
+        int[] anti = new int[9];
+        for (int k = 0; k < 9; k++) {
+            main[k] = k * 9 + k;
+            anti[k] = k * 9 + 8 - k;
+        }
+        return new UniqueRegion[]{
+                new UniqueRegion(Mensagem.DiagonalFalse, main),
+                new UniqueRegion(Mensagem.DiagonalFalse, anti),
+        };
+    }
+
+    @Override
+    public int[] cells() {
+        return cells;
+    }
+
+    @Override
+    public int allowed(byte[] grid, int index) {
+        int used = 0;
+        for (int cell : cells) {
+            if (cell != index && grid[cell] != Board.EMPTY) {
+                used |= 1 << (grid[cell] - 1);
+            }
+        }
+        return ~used & Validator.ALL_DIGITS;
+    }
+
+    @Override
+    public boolean isSatisfied(byte[] grid) {
+        int seen = 0;
+        for (int cell : cells) {
+            int bit = (1 << grid[cell]) >>> 1;
+            if (bit == 0 || (seen & bit) != 0) {
+                return false;
+            }
+            seen |= bit;
+        }
+        return true;
+    }
+
+    @Override
+    public Mensagem violation() {
+        return violation;
+    }
+
+    @Override
+    public boolean isUnit() {
+        return cells.length == 9;
+    }
+
+    @Override
+    public String toString() {
+        return "UniqueRegion" + Arrays.toString(cells);
+    }
+}
@@ -0,0 +1,139 @@
+package tabuleiro;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de tabuleiros com solução única para as variantes descritas por {@link Rules}.
+ * <p>
+ * A grade completa sai do {@link VariantSolver} a partir do tabuleiro vazio, testando os
+ * candidatos em ordem aleatória, pois os blocos da diagonal do {@link Generator} não servem
+ * quando as regiões são irregulares ou quando as diagonais também contam. Depois as pistas são
+ * retiradas como no {@link Generator}: cada célula é testada uma vez, em ordem aleatória, e a
+ * remoção só fica se a solução continuar única. As regras extras ajudam a fixar a solução,
+ * então as variantes costumam aceitar menos pistas que o jogo clássico (um killer pode ficar sem nenhuma).
+ * <p>
+ * A mesma semente e as mesmas regras sempre geram o mesmo tabuleiro. Uma instância reaproveita
+ * os seus vetores entre chamadas e não é thread-safe.
+ */
+public class VariantGenerator {
+
+    /** Máximo de nós da busca que monta a grade completa, para regras sem nenhuma solução. */
+    static final long FILL_NODE_LIMIT = 1_000_000;
+
+    private final Rules rules;
+    private final SplittableRandom random;
+    private final VariantSolver solver;
+    private final byte[] solution = new byte[81];
+    private final byte[] puzzle = new byte[81];
+    private final int[] order = new int[81];
+
+    /**
+     * @param rules {@code Rules} - Regras dos tabuleiros gerados.
+     * @param seed  {@code long} - Semente do gerador aleatório.
+     */
+    public VariantGenerator(Rules rules, long seed) {
+        this.rules = rules;
+        this.random = new SplittableRandom(seed);
+        this.solver = new VariantSolver(rules);
+    }
+
+    /**
+     * Gera um novo tabuleiro no nível de dificuldade indicado.
+     *
+     * @param board       {@code Board} - Tabuleiro que recebe as pistas geradas.
+     * @param dificuldade {@code Dificuldade} - Nível que define a quantidade alvo de pistas.
+     * @return {@code int} - Quantidade de pistas efetivamente deixadas.
+     */
+    public int generate(Board board, Dificuldade dificuldade) {
+        return generate(board, dificuldade.getPistas());
+    }
+
+    /**
+     * Gera um novo tabuleiro com solução única e carrega as pistas em {@code board}. O
+     * tabuleiro guarda só as células; a validação das jogadas deve usar as mesmas regras
+     * ({@link Validator#isValid(Rules, Board, int, int, int)}).
+     *
+     * @param board {@code Board} - Tabuleiro que recebe as pistas geradas.
+     * @param clues {@code int} - Quantidade alvo de pistas (0 a 81).
+     * @return {@code int} - Quantidade de pistas efetivamente deixadas; pode ficar acima do alvo
+     * quando nenhuma outra remoção mantém a solução única.
+     */
+    public int generate(Board board, int clues) {
+        int result = generateCells(puzzle, clues);
+        board.loadGivens(puzzle);
+        return result;
+    }
+
+    /**
+     * Gera um tabuleiro com solução única no formato de 81 células (0 para vazio).
+     *
+     * @param out   {@code byte[]} - Recebe as pistas geradas.
+     * @param clues {@code int} - Quantidade alvo de pistas.
+     * @return {@code int} - Quantidade de pistas efetivamente deixadas.
+     * @throws IllegalArgumentException se as regras não admitirem nenhuma grade completa.
+     */
+    int generateCells(byte[] out, int clues) {
+        if (clues < 0 || clues > 81) {
+            throw new IllegalArgumentException("A quantidade de pistas deve ficar entre 0 e 81.");
+        }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        fillSolution();
+        System.arraycopy(solution, 0, out, 0, 81);
+
+        for (int index = 0; index < 81; index++) {
+            order[index] = index;
+        }
+        shuffle(order, 81);
+
+        int remaining = 81;
+        int checks = 0;
+        for (int i = 0; i < 81 && remaining > clues; i++) {
+            int index = order[i];
+            byte digit = out[index];
+            out[index] = Board.EMPTY;
+            checks++;
+            if (solver.countCells(out, 2) == 1) {
+                remaining--;
+            } else {
+                out[index] = digit; // a remoção tornaria a solução ambígua
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.generation(checks, checks - (81 - remaining), System.nanoTime() - start);
+        }
+        return remaining;
+    }
+
+    /**
+     * Solução completa usada na última geração. Válida até a próxima chamada.
+     */
+    byte[] lastSolution() {
+        return solution;
+    }
+
+    /**
+     * Monta uma grade completa, sorteada e válida para as regras em {@link #solution}.
+     */
+    private void fillSolution() {
+        Arrays.fill(puzzle, Board.EMPTY);
+        solver.setNodeLimit(FILL_NODE_LIMIT);
+        boolean filled = solver.solveRandom(puzzle, solution, random);
+        solver.setNodeLimit(Long.MAX_VALUE);
+        if (!filled) {
+            throw new IllegalArgumentException("As regras não admitem nenhuma grade completa: " + rules);
+        }
+    }
+
+    /**
+     * Embaralhamento de Fisher-Yates das primeiras {@code length} posições.
+     */
+    private void shuffle(int[] values, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
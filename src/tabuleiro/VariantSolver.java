@@ -0,0 +1,304 @@
+package tabuleiro;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Versão do {@link Solver} para as variantes descritas por {@link Rules}: mesmas máscaras de
+ * linhas e colunas, máscaras das regiões no lugar das dos blocos e, em cada célula com regras
+ * extras, a interseção com {@link Constraint#allowed(byte[], int)}. A propagação (candidatos
+ * únicos e dígitos únicos na unidade) passa também pelas unidades extras, como as diagonais.
+ * <p>
+ * O {@link Solver} clássico continua sendo o caminho para as regras padrão; esta classe só é
+ * usada quando há variante. Uma instância reaproveita os seus vetores entre chamadas e não é
+ * thread-safe.
+ */
+public class VariantSolver {
+
+    private final Rules rules;
+    private final byte[] grid = new byte[81];
+    private final int[] rows = new int[9];
+    private final int[] cols = new int[9];
+    private final int[] regions = new int[9];
+    /** Pilha com as células preenchidas durante a busca, usada para desfazer jogadas. */
+    private final int[] trail = new int[81];
+    private int trailSize;
+
+    private byte[] solution;
+    private int solutions;
+    private int limit;
+    private long nodeLimit = Long.MAX_VALUE;
+    private long nodes;
+    private boolean exhausted;
+    /** Ordem aleatória dos candidatos em cada ramificação, ou {@code null} para a ordem crescente. */
+    private SplittableRandom random;
+
+    /**
+     * @param rules {@code Rules} - Regras dos tabuleiros resolvidos por esta instância.
+     */
+    public VariantSolver(Rules rules) {
+        this.rules = rules;
+    }
+
+    public Rules getRules() {
+        return rules;
+    }
+
+    /**
+     * Limita a quantidade de nós da busca em cada chamada. Ao passar do limite, a busca para:
+     * {@link #solveCells} devolve {@code false} e {@link #countCells} devolve {@code limit}.
+     *
+     * @param nodeLimit {@code long} - Máximo de nós por chamada ({@link Long#MAX_VALUE} para não limitar).
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Resolve um tabuleiro no formato de 81 células (0 para vazio).
+     *
+     * @param puzzle {@code byte[]} - Células iniciais; não é alterado.
+     * @param out    {@code byte[]} - Recebe a solução completa, se existir.
+     * @return {@code boolean} - {@code true} se encontrou solução.
+     */
+    public boolean solveCells(byte[] puzzle, byte[] out) {
+        if (!Metrics.ENABLED) {
+            return run(puzzle, 1, out) == 1 && !exhausted;
+        }
+        long start = System.nanoTime();
+        boolean solved = run(puzzle, 1, out) == 1 && !exhausted;
+        Metrics.solve(System.nanoTime() - start);
+        return solved;
+    }
+
+    /**
+     * Conta as soluções de um tabuleiro no formato de 81 células, até {@code limit}.
+     *
+     * @param puzzle {@code byte[]} - Células iniciais; não é alterado.
+     * @param limit  {@code int} - Número máximo de soluções a procurar.
+     * @return {@code int} - Quantidade de soluções encontradas, no máximo {@code limit}.
+     */
+    public int countCells(byte[] puzzle, int limit) {
+        int found = run(puzzle, limit, null);
+        return exhausted ? limit : found;
+    }
+
+    /**
+     * Como {@link #solveCells(byte[], byte[])}, mas testando os candidatos de cada ramificação
+     * em ordem aleatória: a partir de um tabuleiro vazio, monta uma grade completa sorteada.
+     */
+    boolean solveRandom(byte[] puzzle, byte[] out, SplittableRandom random) {
+        this.random = random;
+        try {
+            return run(puzzle, 1, out) == 1 && !exhausted;
+        } finally {
+            this.random = null;
+        }
+    }
+
+    private int run(byte[] puzzle, int limit, byte[] out) {
+        exhausted = false;
+        if (!load(puzzle)) {
+            return 0;
+        }
+        this.limit = limit;
+        this.solution = out;
+        this.solutions = 0;
+        this.nodes = 0;
+        search();
+        this.solution = null;
+        return solutions;
+    }
+
+    /**
+     * Carrega as células iniciais e monta as máscaras.
+     * @return {@code false} se as pistas já estiverem em conflito.
+     */
+    private boolean load(byte[] puzzle) {
+        Arrays.fill(rows, 0);
+        Arrays.fill(cols, 0);
+        Arrays.fill(regions, 0);
+        trailSize = 0;
+        System.arraycopy(puzzle, 0, grid, 0, 81);
+        for (int index = 0; index < 81; index++) {
+            int digit = grid[index];
+            if (digit != Board.EMPTY) {
+                int bit = 1 << (digit - 1);
+                int row = Topology.ROW[index];
+                int col = Topology.COL[index];
+                int region = rules.regionOf(index);
+                if (((rows[row] | cols[col] | regions[region]) & bit) != 0) {
+                    return false;
+                }
+                rows[row] |= bit;
+                cols[col] |= bit;
+                regions[region] |= bit;
+            }
+        }
+        for (int index = 0; index < 81; index++) {
+            if (grid[index] != Board.EMPTY && (extra(index, ~0) & 1 << (grid[index] - 1)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca recursiva. Retorna {@code true} quando já encontrou {@code limit} soluções
+     * (ou passou do limite de nós) e a busca deve parar. Ao retornar, o estado volta ao que era na entrada.
+     */
+    private boolean search() {
+        if (++nodes > nodeLimit) {
+            exhausted = true;
+            return true;
+        }
+        int mark = trailSize;
+        if (!propagate()) {
+            undo(mark);
+            return false;
+        }
+
+        int best = -1;
+        int bestCandidates = 0;
+        int bestCount = Integer.MAX_VALUE;
+        for (int index = 0; index < 81 && bestCount > 2; index++) {
+            if (grid[index] == Board.EMPTY) {
+                int candidates = candidates(index);
+                int count = Integer.bitCount(candidates);
+                if (count < bestCount) {
+                    best = index;
+                    bestCandidates = candidates;
+                    bestCount = count;
+                }
+            }
+        }
+
+        if (best < 0) {
+            // Tabuleiro completo: registra a solução
+            if (solutions++ == 0 && solution != null) {
+                System.arraycopy(grid, 0, solution, 0, 81);
+            }
+            boolean stop = solutions >= limit;
+            undo(mark);
+            return stop;
+        }
+
+        while (bestCandidates != 0) {
+            int bit = random == null ? bestCandidates & -bestCandidates : randomBit(bestCandidates);
+            bestCandidates ^= bit;
+            assign(best, Integer.numberOfTrailingZeros(bit) + 1);
+            if (search()) {
+                undo(mark);
+                return true;
+            }
+            undo(trailSize - 1);
+        }
+        undo(mark);
+        return false;
+    }
+
+    /**
+     * Aplica candidatos únicos e dígitos únicos na unidade até não haver mais mudanças.
+     *
+     * @return {@code false} se encontrou uma contradição.
+     */
+    private boolean propagate() {
+        int[] units = rules.units;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int index = 0; index < 81; index++) {
+                if (grid[index] == Board.EMPTY) {
+                    int candidates = candidates(index);
+                    if (candidates == 0) {
+                        return false;
+                    }
+                    if ((candidates & (candidates - 1)) == 0) {
+                        assign(index, Integer.numberOfTrailingZeros(candidates) + 1);
+                        changed = true;
+                    }
+                }
+            }
+            if (changed) {
+                continue; // candidatos únicos são mais baratos: esgota-os antes de olhar as unidades
+            }
+            for (int start = 0; start < units.length; start += Topology.UNIT_SIZE) {
+                int once = 0;
+                int twice = 0;
+                int placed = 0;
+                for (int k = start; k < start + Topology.UNIT_SIZE; k++) {
+                    int index = units[k];
+                    if (grid[index] == Board.EMPTY) {
+                        int candidates = candidates(index);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    } else {
+                        placed |= 1 << (grid[index] - 1);
+                    }
+                }
+                if ((once | placed) != Validator.ALL_DIGITS) {
+                    return false;
+                }
+                int hidden = once & ~twice;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+                    for (int k = start; k < start + Topology.UNIT_SIZE; k++) {
+                        int index = units[k];
+                        if (grid[index] == Board.EMPTY && (candidates(index) & bit) != 0) {
+                            assign(index, Integer.numberOfTrailingZeros(bit) + 1);
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private int candidates(int index) {
+        int candidates = ~(rows[Topology.ROW[index]] | cols[Topology.COL[index]] | regions[rules.regionOf(index)])
+                & Validator.ALL_DIGITS;
+        return extra(index, candidates);
+    }
+
+    /**
+     * Restringe {@code candidates} às regras extras da célula.
+     */
+    private int extra(int index, int candidates) {
+        for (int k = rules.cellStart[index], end = rules.cellStart[index + 1]; k < end && candidates != 0; k++) {
+            candidates &= rules.cellConstraints[k].allowed(grid, index);
+        }
+        return candidates;
+    }
+
+    /** Um dos bits de {@code candidates}, sorteado. */
+    private int randomBit(int candidates) {
+        for (int skip = random.nextInt(Integer.bitCount(candidates)); skip > 0; skip--) {
+            candidates &= candidates - 1;
+        }
+        return candidates & -candidates;
+    }
+
+    private void assign(int index, int digit) {
+        int bit = 1 << (digit - 1);
+        grid[index] = (byte) digit;
+        rows[Topology.ROW[index]] |= bit;
+        cols[Topology.COL[index]] |= bit;
+        regions[rules.regionOf(index)] |= bit;
+        trail[trailSize++] = index;
+    }
+
+    /** Desfaz as jogadas da pilha até que ela volte ao tamanho {@code mark}. */
+    private void undo(int mark) {
+        while (trailSize > mark) {
+            int index = trail[--trailSize];
+            int bit = ~(1 << (grid[index] - 1));
+            grid[index] = Board.EMPTY;
+            rows[Topology.ROW[index]] &= bit;
+            cols[Topology.COL[index]] &= bit;
+            regions[rules.regionOf(index)] &= bit;
+        }
+    }
+}